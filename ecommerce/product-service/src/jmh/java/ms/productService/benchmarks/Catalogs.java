@@ -0,0 +1,59 @@
+package ms.productService.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ms.productService.dtos.ProductResponseDTO;
+import ms.productService.dtos.StatusProduct;
+import ms.productService.entity.Category;
+import ms.productService.entity.Product;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+final class Catalogs {
+
+    private static final int CATEGORIES = 50;
+
+    private Catalogs() {
+    }
+
+    // Same defaults Spring Boot applies to the ObjectMapper used by the controllers.
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    static List<Product> products(int size) {
+
+        List<Category> categories = new ArrayList<>(CATEGORIES);
+        for (int i = 0; i < CATEGORIES; i++) {
+            Category category = new Category();
+            category.setId((long) i + 1);
+            category.setName("Categoria " + i);
+            categories.add(category);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Product> products = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            Product product = new Product();
+            product.setId((long) i + 1);
+            product.setName("Produto " + i);
+            product.setDescription("Descrição do produto " + i + " com texto de tamanho típico do catálogo");
+            product.setPrice(BigDecimal.valueOf(1_000 + i % 100_000, 2));
+            product.setStatus(i % 10 == 0 ? StatusProduct.INATIVO : StatusProduct.ATIVO);
+            product.setCreatedIn(now.minusDays(i % 365));
+            product.setUpdatedIn(i % 3 == 0 ? now.minusHours(i % 24) : null);
+            product.setCategory(categories.get(i % CATEGORIES));
+            products.add(product);
+        }
+
+        return products;
+    }
+
+    static List<ProductResponseDTO> responses(int size) {
+        return products(size).stream().map(ProductResponseDTO::from).toList();
+    }
+}
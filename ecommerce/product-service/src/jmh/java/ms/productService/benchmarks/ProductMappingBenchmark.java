@@ -0,0 +1,32 @@
+package ms.productService.benchmarks;
+
+import ms.productService.dtos.ProductResponseDTO;
+import ms.productService.entity.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ProductMappingBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int catalogSize;
+
+    private List<Product> products;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        products = Catalogs.products(catalogSize);
+    }
+
+    @Benchmark
+    public List<ProductResponseDTO> mapCatalog() {
+        return products.stream().map(ProductResponseDTO::from).toList();
+    }
+}
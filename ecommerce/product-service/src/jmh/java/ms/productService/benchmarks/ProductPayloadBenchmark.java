@@ -0,0 +1,77 @@
+package ms.productService.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ms.productService.configs.CacheConfig;
+import ms.productService.dtos.PaginatedResponse;
+import ms.productService.dtos.ProductResponseDTO;
+import ms.productService.dtos.ResourceValidator;
+import ms.productService.entity.Product;
+import ms.productService.services.ProductPayloadCache;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductPayloadBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private ObjectMapper objectMapper;
+    private Product product;
+    private ProductResponseDTO response;
+    private List<Product> pageProducts;
+    private PaginatedResponse<ProductResponseDTO> page;
+    private ProductPayloadCache payloadCache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Catalogs.objectMapper();
+        pageProducts = Catalogs.products(PAGE_SIZE);
+        product = pageProducts.get(0);
+        response = ProductResponseDTO.from(product);
+        page = new PaginatedResponse<>(Catalogs.responses(PAGE_SIZE), 0, PAGE_SIZE, 10_000, 10_000 / PAGE_SIZE);
+        payloadCache = new ProductPayloadCache(new CaffeineCacheManager(CacheConfig.PRODUCT_PAYLOADS), objectMapper, 1024);
+    }
+
+    @Benchmark
+    public ProductResponseDTO mapProduct() {
+        return ProductResponseDTO.from(product);
+    }
+
+    @Benchmark
+    public byte[] serializeProduct() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    // What GET /product/{id} does per hit: derive the version, then either reuse the cached bytes or serialize.
+    @Benchmark
+    public byte[] versionAndSerializeProduct() throws JsonProcessingException {
+        ResourceValidator.of(response);
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] versionAndCachedProduct() {
+        var validator = ResourceValidator.of(response);
+        return payloadCache.payloadOf(response, validator.eTag()).json();
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializePage() throws JsonProcessingException {
+        List<ProductResponseDTO> content = pageProducts.stream().map(ProductResponseDTO::from).toList();
+        return objectMapper.writeValueAsBytes(new PaginatedResponse<>(content, 0, PAGE_SIZE, 10_000, 10_000 / PAGE_SIZE));
+    }
+}
@@ -0,0 +1,54 @@
+package ms.productService.benchmarks;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ms.productService.dtos.ProductResponseDTO;
+import ms.productService.entity.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ProductSerializationBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int catalogSize;
+
+    private ObjectMapper objectMapper;
+    private List<Product> products;
+    private List<ProductResponseDTO> responses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Catalogs.objectMapper();
+        products = Catalogs.products(catalogSize);
+        responses = products.stream().map(ProductResponseDTO::from).toList();
+    }
+
+    @Benchmark
+    public void serializeCatalog() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), responses);
+    }
+
+    // Same generator setup as ProductService.exportProducts: one JSON document per line, mapped as it is written.
+    @Benchmark
+    public void exportCatalog() throws IOException {
+
+        try (JsonGenerator generator = objectMapper.createGenerator(OutputStream.nullOutputStream())) {
+            generator.setRootValueSeparator(null);
+
+            for (Product product : products) {
+                objectMapper.writeValue(generator, ProductResponseDTO.from(product));
+                generator.writeRaw('\n');
+            }
+        }
+    }
+}
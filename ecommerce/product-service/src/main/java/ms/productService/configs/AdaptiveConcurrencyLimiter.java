@@ -0,0 +1,136 @@
+package ms.productService.configs;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that follows the latency gradient: while recent round trips stay close to the long-term average
+ * the limit grows, and once they start to climb (requests queueing somewhere downstream) it shrinks towards the
+ * concurrency the endpoint actually sustains. Requests above the limit wait in a short bounded queue or are rejected.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    public enum Admission { ADMITTED, QUEUED, REJECTED }
+
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final int WARMUP_SAMPLES = 10;
+    private static final int LONG_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int queueSize;
+    private final long queueTimeoutNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    private volatile double limit;
+    private volatile int inFlight;
+    private volatile int waiting;
+
+    private double longRtt;
+    private long samples;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int queueSize, Duration queueTimeout) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.queueSize = queueSize;
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public Admission acquire() throws InterruptedException {
+
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                return Admission.ADMITTED;
+            }
+
+            if (waiting >= queueSize) {
+                return Admission.REJECTED;
+            }
+
+            waiting++;
+            try {
+                long remaining = queueTimeoutNanos;
+
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        return Admission.REJECTED;
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+
+                inFlight++;
+                return Admission.QUEUED;
+            } finally {
+                waiting--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the permit and feeds the round trip into the limit. {@code inFlightAtStart} tells apart an endpoint that
+     * is merely idle from one that is saturated; only the latter moves the limit.
+     */
+    public void release(long rttNanos, int inFlightAtStart, boolean dropped) {
+
+        lock.lock();
+        try {
+            inFlight--;
+
+            if (!dropped) {
+                update(rttNanos, inFlightAtStart);
+            }
+
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void update(long rttNanos, int inFlightAtStart) {
+
+        double shortRtt = Math.max(1, rttNanos);
+        samples++;
+
+        if (samples <= WARMUP_SAMPLES) {
+            longRtt += (shortRtt - longRtt) / samples;
+        } else {
+            longRtt += (shortRtt - longRtt) * 2 / (LONG_WINDOW + 1);
+        }
+
+        // After a sustained slowdown the average lags far behind; let it drop quickly once latency recovers.
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        if (inFlightAtStart < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        double smoothed = limit * (1 - SMOOTHING) + target * SMOOTHING;
+
+        limit = Math.max(minLimit, Math.min(maxLimit, smoothed));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public int getWaiting() {
+        return waiting;
+    }
+}
@@ -0,0 +1,107 @@
+package ms.productService.configs;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One adaptive bulkhead per handler method, so a burst on an expensive endpoint is shed at its own limit instead of
+ * taking the threads and connections the cheap lookups need. The permit is held until the response completes,
+ * including streamed bodies written on an async dispatch.
+ */
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT = ConcurrencyLimitInterceptor.class.getName() + ".PERMIT";
+
+    private record Endpoint(AdaptiveConcurrencyLimiter limiter, Map<AdaptiveConcurrencyLimiter.Admission, Counter> counters) {}
+
+    private record Permit(Endpoint endpoint, long startedAt, int inFlight) {}
+
+    private ConcurrencyLimitProperties properties;
+    private MeterRegistry meterRegistry;
+    private Map<Method, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitInterceptor(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+
+        if (!(handler instanceof HandlerMethod handlerMethod) || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
+        Endpoint endpoint = endpoints.computeIfAbsent(handlerMethod.getMethod(), method -> register(handlerMethod));
+        var admission = endpoint.limiter().acquire();
+
+        endpoint.counters().get(admission).increment();
+
+        if (admission == AdaptiveConcurrencyLimiter.Admission.REJECTED) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Serviço sobrecarregado; tente novamente em instantes.");
+        }
+
+        request.setAttribute(PERMIT, new Permit(endpoint, System.nanoTime(), endpoint.limiter().getInFlight()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+
+        if (!(request.getAttribute(PERMIT) instanceof Permit permit)) {
+            return;
+        }
+
+        request.removeAttribute(PERMIT);
+
+        // Failed requests say nothing about how much concurrency the endpoint sustains.
+        boolean dropped = ex != null || response.getStatus() >= 500;
+        permit.endpoint().limiter().release(System.nanoTime() - permit.startedAt(), permit.inFlight(), dropped);
+    }
+
+    private Endpoint register(HandlerMethod handlerMethod) {
+
+        String name = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        AdaptiveConcurrencyLimiter limiter = properties.limiterFor(name);
+        Map<AdaptiveConcurrencyLimiter.Admission, Counter> counters = new EnumMap<>(AdaptiveConcurrencyLimiter.Admission.class);
+
+        for (var admission : AdaptiveConcurrencyLimiter.Admission.values()) {
+            counters.put(admission, Counter.builder("http.server.concurrency.requests")
+                    .description("Requisições admitidas direto, admitidas após espera na fila ou rejeitadas pelo limite")
+                    .tag("endpoint", name)
+                    .tag("result", admission.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+
+        Gauge.builder("http.server.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Limite de concorrência atual do endpoint")
+                .tag("endpoint", name)
+                .register(meterRegistry);
+
+        Gauge.builder("http.server.concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("endpoint", name)
+                .register(meterRegistry);
+
+        Gauge.builder("http.server.concurrency.queued", limiter, AdaptiveConcurrencyLimiter::getWaiting)
+                .description("Requisições aguardando vaga no momento")
+                .tag("endpoint", name)
+                .register(meterRegistry);
+
+        return new Endpoint(limiter, counters);
+    }
+}
@@ -0,0 +1,109 @@
+package ms.productService.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Defaults for every endpoint bulkhead, plus overrides keyed by {@code Controller.method}
+ * (e.g. {@code product.concurrency.endpoints[ProductController.exportProducts].max-limit=2}).
+ */
+@ConfigurationProperties("product.concurrency")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+    private Limits defaults = new Limits();
+    private Map<String, Limits> endpoints = new HashMap<>();
+
+    public static class Limits {
+
+        private Integer initialLimit;
+        private Integer minLimit;
+        private Integer maxLimit;
+        private Integer queueSize;
+        private Duration queueTimeout;
+
+        public Integer getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(Integer initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public Integer getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(Integer minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public Integer getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(Integer maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public Integer getQueueSize() {
+            return queueSize;
+        }
+
+        public void setQueueSize(Integer queueSize) {
+            this.queueSize = queueSize;
+        }
+
+        public Duration getQueueTimeout() {
+            return queueTimeout;
+        }
+
+        public void setQueueTimeout(Duration queueTimeout) {
+            this.queueTimeout = queueTimeout;
+        }
+    }
+
+    public AdaptiveConcurrencyLimiter limiterFor(String endpoint) {
+        Limits override = endpoints.getOrDefault(endpoint, new Limits());
+
+        int maxLimit = pick(override.getMaxLimit(), defaults.getMaxLimit(), 200);
+
+        return new AdaptiveConcurrencyLimiter(
+                Math.min(maxLimit, pick(override.getInitialLimit(), defaults.getInitialLimit(), 20)),
+                pick(override.getMinLimit(), defaults.getMinLimit(), 1),
+                maxLimit,
+                pick(override.getQueueSize(), defaults.getQueueSize(), 0),
+                pick(override.getQueueTimeout(), defaults.getQueueTimeout(), Duration.ZERO));
+    }
+
+    private static <T> T pick(T override, T fallback, T standard) {
+        return override != null ? override : fallback != null ? fallback : standard;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Limits getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(Limits defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, Limits> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(Map<String, Limits> endpoints) {
+        this.endpoints = endpoints;
+    }
+}
@@ -0,0 +1,43 @@
+package ms.productService.configs;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.JdbcSettings;
+import org.hibernate.cfg.SessionEventSettings;
+import org.hibernate.stat.HibernateQueryMetrics;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer requestStatisticsCustomizer() {
+        RequestStatistics requestStatistics = new RequestStatistics();
+
+        return properties -> {
+            properties.put(JdbcSettings.STATEMENT_INSPECTOR, requestStatistics);
+            properties.put(SessionEventSettings.INTERCEPTOR, requestStatistics);
+        };
+    }
+
+    @Bean
+    public MeterBinder hibernateQueryMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> new HibernateQueryMetrics(entityManagerFactory.unwrap(SessionFactory.class),
+                "entityManagerFactory", List.of()).bindTo(registry);
+    }
+
+    @Bean
+    public MeterBinder hibernateSlowQueries(EntityManagerFactory entityManagerFactory) {
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        return registry -> Gauge.builder("hibernate.slow.queries", statistics, s -> s.getSlowQueries().size())
+                .description("Comandos distintos que excederam hibernate.log_slow_query")
+                .register(registry);
+    }
+}
@@ -5,15 +5,21 @@ import org.springframework.amqp.core.*;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class RabbitMQConfig {
 
-    public static final String QUEUE_NAME = "";
-    public static final String EXCHANGE_NAME = "";
-    public static final String ROUTING_KEY = "";
+    public static final String QUEUE_NAME = "product.events";
+    public static final String EXCHANGE_NAME = "product.exchange";
+    public static final String ROUTING_KEY = "product.changed";
+
+    public static final String FEED_QUEUE_NAME = "product.feed";
+    public static final String FEED_DEAD_LETTER_EXCHANGE_NAME = "product.feed.dlx";
+    public static final String FEED_DEAD_LETTER_QUEUE_NAME = "product.feed.dlq";
 
     @Bean
     public Queue queue() {
@@ -30,12 +36,53 @@ public class RabbitMQConfig {
         return BindingBuilder.bind(queue).to(exchange).with(ROUTING_KEY).noargs();
     }
 
+    @Bean
+    public Queue feedQueue() {
+        return QueueBuilder.durable(FEED_QUEUE_NAME)
+                .deadLetterExchange(FEED_DEAD_LETTER_EXCHANGE_NAME)
+                .deadLetterRoutingKey(FEED_DEAD_LETTER_QUEUE_NAME)
+                .build();
+    }
+
+    @Bean
+    public Queue feedDeadLetterQueue() {
+        return QueueBuilder.durable(FEED_DEAD_LETTER_QUEUE_NAME).build();
+    }
+
+    @Bean
+    public DirectExchange feedDeadLetterExchange() {
+        return new DirectExchange(FEED_DEAD_LETTER_EXCHANGE_NAME);
+    }
+
+    @Bean
+    public Binding feedDeadLetterBinding() {
+        return BindingBuilder.bind(feedDeadLetterQueue()).to(feedDeadLetterExchange()).with(FEED_DEAD_LETTER_QUEUE_NAME);
+    }
+
 
     @Bean
-    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(ConnectionFactory connectionFactory) {
+    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${product.feed.batch-size:500}") int batchSize,
+            @Value("${product.feed.prefetch:1000}") int prefetch,
+            @Value("${product.feed.concurrency:2}") int concurrency,
+            @Value("${product.feed.max-concurrency:8}") int maxConcurrency,
+            @Value("${product.feed.receive-timeout:200}") long receiveTimeout) {
         SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
-        factory.setConnectionFactory(connectionFactory);
+        // The Boot configurer supplies the consumer executor, virtual threads included when spring.threads.virtual.enabled is set.
+        configurer.configure(factory, connectionFactory);
         factory.setMessageConverter(new Jackson2JsonMessageConverter());
+        // Consumers hand whole batches to the listener, which acks or dead-letters each message itself.
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setPrefetchCount(prefetch);
+        factory.setReceiveTimeout(receiveTimeout);
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(maxConcurrency);
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        factory.setDefaultRequeueRejected(false);
         return factory;
     }
 
@@ -0,0 +1,135 @@
+package ms.productService.configs;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a heartbeat row on the primary and reads it back from each replica: the age of the row a replica sees is
+ * its replication lag. Replicas that cannot be reached, or whose lag exceeds {@code maxLag}, stop receiving reads
+ * until a later check finds them caught up.
+ */
+public class ReplicaMonitor implements HealthIndicator, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaMonitor.class);
+
+    private static final String UPDATE_HEARTBEAT = "update tb_replica_heartbeat set beat_at = ? where id = 1";
+    private static final String INSERT_HEARTBEAT = "insert into tb_replica_heartbeat (id, beat_at) values (1, ?)";
+    private static final String SELECT_HEARTBEAT = "select beat_at from tb_replica_heartbeat where id = 1";
+
+    private ReplicaRoutingDataSource routingDataSource;
+    private long maxLagMillis;
+    private Clock clock;
+
+    public ReplicaMonitor(ReplicaRoutingDataSource routingDataSource, Duration maxLag, Clock clock) {
+        this.routingDataSource = routingDataSource;
+        this.maxLagMillis = maxLag.toMillis();
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${product.datasource.replica-check-interval:1000}")
+    public void check() {
+
+        try {
+            beat();
+        } catch (DataAccessException e) {
+            log.warn("Não foi possível gravar o heartbeat no primário.", e);
+        }
+
+        routingDataSource.getReplicas().forEach(this::probe);
+    }
+
+    private void beat() {
+        var primary = new JdbcTemplate(routingDataSource.getPrimary());
+        long now = clock.millis();
+
+        if (primary.update(UPDATE_HEARTBEAT, now) == 0) {
+            primary.update(INSERT_HEARTBEAT, now);
+        }
+    }
+
+    private void probe(ReplicaRoutingDataSource.Replica replica) {
+
+        var jdbcTemplate = new JdbcTemplate(replica.getDataSource());
+        jdbcTemplate.setQueryTimeout(Math.max(1, (int) (maxLagMillis / 1000)));
+
+        try {
+            List<Long> beats = jdbcTemplate.queryForList(SELECT_HEARTBEAT, Long.class);
+
+            if (beats.isEmpty()) {
+                update(replica, false, -1, "Heartbeat ainda não replicado.");
+                return;
+            }
+
+            long lag = Math.max(0, clock.millis() - beats.get(0));
+            update(replica, lag <= maxLagMillis, lag, lag <= maxLagMillis ? null : "Atraso de replicação acima do limite.");
+        } catch (DataAccessException e) {
+            update(replica, false, -1, e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private void update(ReplicaRoutingDataSource.Replica replica, boolean healthy, long lag, String error) {
+
+        if (replica.isHealthy() != healthy) {
+            if (healthy) {
+                log.info("Réplica {} voltou a receber leituras (atraso de {} ms).", replica.getName(), lag);
+            } else {
+                log.warn("Réplica {} removida das leituras: {}", replica.getName(), error);
+            }
+        }
+
+        replica.update(healthy, lag, error);
+    }
+
+    @Override
+    public Health health() {
+
+        Map<String, Object> details = new LinkedHashMap<>();
+
+        for (var replica : routingDataSource.getReplicas()) {
+            Map<String, Object> state = new LinkedHashMap<>();
+            state.put("status", replica.isHealthy() ? "UP" : "DOWN");
+            state.put("lagMillis", replica.getLagMillis());
+            if (replica.getError() != null) {
+                state.put("error", replica.getError());
+            }
+            details.put(replica.getName(), state);
+        }
+
+        // Reads fall back to the primary, so losing every replica degrades the service without taking it down.
+        boolean anyHealthy = routingDataSource.getReplicas().stream().anyMatch(ReplicaRoutingDataSource.Replica::isHealthy);
+        details.put("readsOnPrimary", !anyHealthy);
+
+        return Health.up().withDetails(details).build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+
+        for (var replica : routingDataSource.getReplicas()) {
+            Gauge.builder("datasource.replica.lag", replica, ReplicaRoutingDataSource.Replica::getLagMillis)
+                    .description("Atraso de replicação observado pelo heartbeat (-1 quando desconhecido)")
+                    .baseUnit("milliseconds")
+                    .tag("replica", replica.getName())
+                    .register(registry);
+
+            Gauge.builder("datasource.replica.healthy", replica, r -> r.isHealthy() ? 1 : 0)
+                    .description("1 quando a réplica está recebendo leituras")
+                    .tag("replica", replica.getName())
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package ms.productService.configs;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Target for read-only connections: hands out a connection from the next healthy replica, or from the primary when
+ * every replica is down or lagging, when the current thread committed a write to the primary within the last
+ * {@code maxLag}, or when the read runs inside {@link #readingFromPrimary(Supplier)}.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final ThreadLocal<Long> lastWrite = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> primaryReads = new ThreadLocal<>();
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    public static class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+
+        private volatile boolean healthy;
+        private volatile long lagMillis = -1;
+        private volatile String error;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public void update(boolean healthy, long lagMillis, String error) {
+            this.healthy = healthy;
+            this.lagMillis = lagMillis;
+            this.error = error;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public DataSource getDataSource() {
+            return dataSource;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        public long getLagMillis() {
+            return lagMillis;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagNanos;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, Duration maxLag) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLagNanos = maxLag.toNanos();
+    }
+
+    /**
+     * The primary as seen by read-write connections. A commit that wrote something is remembered, so the same thread
+     * keeps reading its own changes from the primary until the replicas are allowed to have caught up; read-write
+     * transactions that only read leave the routing alone.
+     */
+    public DataSource writeDataSource() {
+        return new DelegatingDataSource(primary) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return WriteTracker.track(super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return WriteTracker.track(super.getConnection(username, password));
+            }
+        };
+    }
+
+    /**
+     * Runs a read-only load on the primary without opening the read-your-writes window. Meant for reads whose result is
+     * cached, which must not come from a replica that may still lag behind.
+     */
+    public static <T> T readingFromPrimary(Supplier<T> read) {
+
+        if (Boolean.TRUE.equals(primaryReads.get())) {
+            return read.get();
+        }
+
+        primaryReads.set(true);
+
+        try {
+            return read.get();
+        } finally {
+            primaryReads.remove();
+        }
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.getDataSource() instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Falha ao encerrar o pool da réplica {}.", replica.getName(), e);
+                }
+            }
+        }
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+
+        if (primaryReads.get() == null && !recentlyWrote()) {
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+
+                if (!replica.isHealthy()) {
+                    continue;
+                }
+
+                try {
+                    return source.open(replica.getDataSource());
+                } catch (SQLFeatureNotSupportedException e) {
+                    // The pool rejects the request itself (Hikari does for per-call credentials); the replica is fine.
+                    throw e;
+                } catch (SQLException e) {
+                    log.warn("Réplica {} indisponível; leitura redirecionada.", replica.getName(), e);
+                    replica.update(false, replica.getLagMillis(), e.getMessage());
+                }
+            }
+        }
+
+        return source.open(primary);
+    }
+
+    private boolean recentlyWrote() {
+        Long writtenAt = lastWrite.get();
+
+        if (writtenAt == null) {
+            return false;
+        }
+
+        if (System.nanoTime() - writtenAt < maxLagNanos) {
+            return true;
+        }
+
+        lastWrite.remove();
+        return false;
+    }
+
+    /**
+     * Watches the statements of a primary connection: a write marks the connection, and the commit that follows, or
+     * the write itself under auto-commit, starts the thread's read-your-writes window. Queries never do.
+     */
+    private static final class WriteTracker implements InvocationHandler {
+
+        private static final Set<String> WRITES = Set.of("executeUpdate", "executeLargeUpdate", "executeBatch",
+                "executeLargeBatch");
+
+        private final Connection connection;
+        private boolean wrote;
+
+        private WriteTracker(Connection connection) {
+            this.connection = connection;
+        }
+
+        static Connection track(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new WriteTracker(connection));
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+            Object result = invokeOn(connection, method, args);
+
+            switch (method.getName()) {
+                case "commit" -> {
+                    if (wrote) {
+                        lastWrite.set(System.nanoTime());
+                        wrote = false;
+                    }
+                }
+                case "rollback" -> {
+                    // Rolling back to a savepoint keeps whatever was written before it.
+                    if (args == null) {
+                        wrote = false;
+                    }
+                }
+                default -> {
+                    if (result instanceof Statement statement && method.getReturnType().isInterface()) {
+                        return Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                                new Class<?>[]{method.getReturnType()}, (p, m, a) -> {
+                                    Object value = invokeOn(statement, m, a);
+
+                                    // execute returns false when the statement produced an update count, not rows.
+                                    if (WRITES.contains(m.getName()) || (m.getName().equals("execute") && !(Boolean) value)) {
+                                        wrote();
+                                    }
+
+                                    return value;
+                                });
+                    }
+                }
+            }
+
+            return result;
+        }
+
+        private void wrote() throws SQLException {
+            if (connection.getAutoCommit()) {
+                lastWrite.set(System.nanoTime());
+            } else {
+                wrote = true;
+            }
+        }
+
+        private static Object invokeOn(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
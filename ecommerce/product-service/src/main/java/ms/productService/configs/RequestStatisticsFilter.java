@@ -0,0 +1,56 @@
+package ms.productService.configs;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+@Component
+public class RequestStatisticsFilter extends OncePerRequestFilter {
+
+    private MeterRegistry meterRegistry;
+
+    public RequestStatisticsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        RequestStatistics.start();
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestStatistics.Counts counts = RequestStatistics.finish();
+            Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+            // Unmatched requests have no route template; recording the raw path would explode tag cardinality.
+            if (uri != null) {
+                summary("http.server.requests.queries", "Comandos SQL por requisição", request, uri).record(counts.statements());
+                summary("http.server.requests.entity.loads", "Entidades carregadas por requisição", request, uri).record(counts.entityLoads());
+            }
+        }
+    }
+
+    private DistributionSummary summary(String name, String description, HttpServletRequest request, Object uri) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("method", request.getMethod())
+                .tag("uri", uri.toString())
+                .register(meterRegistry);
+    }
+}
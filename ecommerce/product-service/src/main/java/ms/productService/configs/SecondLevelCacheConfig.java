@@ -0,0 +1,64 @@
+package ms.productService.configs;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level and query cache for reference data, backed by Caffeine through JCache. Every region is
+ * declared here with an explicit size and age bound; an entity or query pointing at any other region fails at startup
+ * instead of silently getting an unbounded cache. The age bound caps how long a change written around Hibernate, or
+ * by another instance, can be served stale.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String CATEGORY_REGION = "category";
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+            @Value("${product.second-level-cache.category-size:1000}") long categorySize,
+            @Value("${product.second-level-cache.query-size:1000}") long querySize,
+            @Value("${product.second-level-cache.expire-after-write:10m}") Duration expireAfterWrite) {
+
+        return properties -> {
+            // A manager per application context: contexts sharing the JVM (tests) must not share entries, and
+            // Hibernate closes the manager along with its session factory.
+            CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                    .getCacheManager(URI.create("urn:product-service:" + UUID.randomUUID()), getClass().getClassLoader());
+
+            cacheManager.createCache(CATEGORY_REGION, bounded(categorySize, expireAfterWrite));
+            cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, bounded(querySize, expireAfterWrite));
+            // One entry per table; evicting one would let stale query results through.
+            cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                    new CaffeineConfiguration<>());
+
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maximumSize, Duration expireAfterWrite) {
+        var configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
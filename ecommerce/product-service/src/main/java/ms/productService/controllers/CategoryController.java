@@ -1,10 +1,15 @@
 package ms.productService.controllers;
 
+import ms.productService.dtos.CategoryDeletionDTO;
+import ms.productService.dtos.CategorySummaryDTO;
 import ms.productService.entity.Category;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ms.productService.services.CatalogVersionService;
 import ms.productService.services.CategoryService;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -13,9 +18,11 @@ public class CategoryController {
 
 
     private CategoryService categoryService;
+    private CatalogVersionService catalogVersionService;
 
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService, CatalogVersionService catalogVersionService) {
         this.categoryService = categoryService;
+        this.catalogVersionService = catalogVersionService;
     }
 
     @PostMapping
@@ -24,23 +31,45 @@ public class CategoryController {
     }
 
     @GetMapping
-    public List<Category> getAllCategory() {
+    public List<Category> getAllCategory(WebRequest request) {
+
+        var validator = catalogVersionService.categoriesValidator();
+
+        if (request.checkNotModified(validator.eTag(), validator.lastModified())) {
+            return null;
+        }
 
         var categories = categoryService.getAllCategory();
 
         return categories;
     }
 
+    @GetMapping("/summary")
+    public List<CategorySummaryDTO> getCategorySummaries() {
+        return categoryService.getCategorySummaries();
+    }
+
     @GetMapping("/{id}")
     public Category getCategoryById(@PathVariable Long id) {
         return categoryService.getCategoryById(id);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<String> deleteCategory(@PathVariable Long id){
-        categoryService.deleteCategory(id);
+    public ResponseEntity<?> deleteCategory(@PathVariable Long id){
+        var deletion = categoryService.deleteCategory(id);
+
+        return switch (deletion.status()) {
+            case CONCLUIDA -> ResponseEntity.ok("Categoria excluida com sucesso.");
+            case FALHOU -> ResponseEntity.internalServerError().body(deletion);
+            default -> ResponseEntity.accepted()
+                    .location(URI.create("/category/deletions/" + deletion.id()))
+                    .body(deletion);
+        };
+    }
 
-        return ResponseEntity.ok("Categoria excluida com sucesso.");
+    @GetMapping("/deletions/{deletionId}")
+    public CategoryDeletionDTO getCategoryDeletion(@PathVariable Long deletionId) {
+        return categoryService.getCategoryDeletion(deletionId);
     }
 
     @PutMapping("/{id}")
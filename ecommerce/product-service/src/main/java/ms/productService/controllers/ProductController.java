@@ -1,24 +1,57 @@
 package ms.productService.controllers;
 
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import ms.productService.dtos.BulkImportReport;
+import ms.productService.dtos.BulkPriceUpdateDTO;
+import ms.productService.dtos.BulkStatusUpdateDTO;
+import ms.productService.dtos.BulkUpdateReport;
 import ms.productService.dtos.PaginatedResponse;
+import ms.productService.dtos.ProductFilterDTO;
+import ms.productService.dtos.ProductFilterResponse;
+import ms.productService.dtos.ProductLookupResult;
 import ms.productService.dtos.ProductRequestDTO;
 import ms.productService.dtos.ProductResponseDTO;
-import ms.productService.entity.Product;
+import ms.productService.dtos.ResourceValidator;
+import ms.productService.dtos.StatusProduct;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ms.productService.services.CatalogVersionService;
+import ms.productService.services.ProductBulkService;
+import ms.productService.services.ProductFilterService;
+import ms.productService.services.ProductPayloadCache;
+import ms.productService.services.ProductSearchService;
 import ms.productService.services.ProductService;
 
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
 
 @RestController
 @RequestMapping("/product")
 public class ProductController {
     
     private ProductService productService;
-
-    public ProductController(ProductService productService) {
+    private ProductBulkService productBulkService;
+    private ProductSearchService productSearchService;
+    private ProductFilterService productFilterService;
+    private CatalogVersionService catalogVersionService;
+    private ProductPayloadCache productPayloadCache;
+
+    public ProductController(ProductService productService, ProductBulkService productBulkService,
+                             ProductSearchService productSearchService, ProductFilterService productFilterService,
+                             CatalogVersionService catalogVersionService, ProductPayloadCache productPayloadCache) {
         this.productService = productService;
+        this.productBulkService = productBulkService;
+        this.productSearchService = productSearchService;
+        this.productFilterService = productFilterService;
+        this.catalogVersionService = catalogVersionService;
+        this.productPayloadCache = productPayloadCache;
     }
 
     @PostMapping
@@ -26,8 +59,29 @@ public class ProductController {
         return productService.createProduct(product);
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public BulkImportReport importProducts(InputStream body) {
+        return productBulkService.importProducts(body);
+    }
+
+    @PatchMapping("/bulk/status")
+    public BulkUpdateReport updateStatusInBulk(@Valid @RequestBody BulkStatusUpdateDTO dto) {
+        return productBulkService.updateStatus(dto);
+    }
+
+    @PatchMapping("/bulk/price")
+    public BulkUpdateReport updatePriceInBulk(@Valid @RequestBody BulkPriceUpdateDTO dto) {
+        return productBulkService.updatePrice(dto);
+    }
+
     @GetMapping
-    public List<ProductResponseDTO> getAllProducts() {
+    public List<ProductResponseDTO> getAllProducts(WebRequest request) {
+
+        var validator = catalogVersionService.productsValidator();
+
+        if (request.checkNotModified(validator.eTag(), validator.lastModified())) {
+            return null;
+        }
 
         var products = productService.findAllProducts();
 
@@ -35,10 +89,90 @@ public class ProductController {
     }
 
 
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(productService::exportProducts);
+    }
+
+    @GetMapping("/search")
+    public List<ProductResponseDTO> searchProducts(@RequestParam String q,
+                                                   @RequestParam(defaultValue = "20") int limit) {
+        return productSearchService.search(q, limit);
+    }
+
+    @GetMapping("/filter")
+    public ProductFilterResponse filterProducts(@RequestParam(required = false) List<String> category,
+                                                @RequestParam(required = false) List<StatusProduct> status,
+                                                @RequestParam(required = false) BigDecimal minPrice,
+                                                @RequestParam(required = false) BigDecimal maxPrice,
+                                                @RequestParam(defaultValue = "0") int page,
+                                                @RequestParam(defaultValue = "20") int size) {
+        return productFilterService.filterProducts(new ProductFilterDTO(category, status, minPrice, maxPrice), page, size);
+    }
+
+    @GetMapping("/batch")
+    public List<ProductLookupResult> getProductsByIds(@RequestParam List<Long> ids) {
+        return productService.getProductsByIds(ids);
+    }
+
+    @GetMapping("/cursor")
+    public PaginatedResponse<ProductResponseDTO> getProductsAfterCursor(@RequestParam(required = false) String after,
+                                                                        @RequestParam(defaultValue = "20") int size) {
+        return productService.getProductsAfterCursor(after, size);
+    }
+
     @GetMapping("/{id}")
-    public ProductResponseDTO getProductById(@PathVariable Long id) {
+    public ResponseEntity<byte[]> getProductById(@PathVariable Long id, WebRequest request,
+                                                 HttpServletResponse servletResponse) {
+
+        var product = productService.getProductById(id);
+        var validator = ResourceValidator.of(product);
+        boolean acceptsGzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+
+        // Whether the body is compressed depends on its size, which is unknown until it is serialized. A client that
+        // accepts gzip holds whichever of the two tags it was sent, so the check runs against that one and a 304
+        // never pays for serializing the product.
+        String candidate = acceptsGzip && listsTag(request.getHeader(HttpHeaders.IF_NONE_MATCH), validator.gzipETag())
+                ? validator.gzipETag()
+                : validator.eTag();
+
+        if (request.checkNotModified(candidate, validator.lastModified())) {
+            return null;
+        }
+
+        var payload = productPayloadCache.payloadOf(product, validator.eTag());
+        boolean gzip = payload.gzip() != null && acceptsGzip;
+        String eTag = gzip ? validator.gzipETag() : validator.eTag();
+
+        // checkNotModified already wrote the candidate tag; the 200 carries the tag of the bytes actually sent.
+        servletResponse.setHeader(HttpHeaders.ETAG, eTag);
+
+        var response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+
+        if (payload.gzip() == null) {
+            return response.body(payload.json());
+        }
+
+        response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
 
-        return productService.getProductById(id);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(payload.gzip());
+        }
+
+        return response.body(payload.json());
+    }
+
+    private static boolean listsTag(String ifNoneMatch, String eTag) {
+        return ifNoneMatch != null && Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(eTag::equals);
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
     }
 
     @GetMapping("/c={categoryName}")
@@ -46,6 +180,13 @@ public class ProductController {
         return productService.findAllProductsByCategory(categoryName);
     }
 
+    @GetMapping("/c={categoryName}/{page}/{size}")
+    public PaginatedResponse<ProductResponseDTO> getPaginationProductsByCategory(@PathVariable String categoryName,
+                                                                                 @PathVariable int page,
+                                                                                 @PathVariable int size) {
+        return productService.getPaginationProductsByCategory(categoryName, page, size);
+    }
+
     @GetMapping("/{page}/{size}")
     public PaginatedResponse<ProductResponseDTO> getPaginationProducts(@PathVariable int page, @PathVariable int size){
         return productService.getPaginationProducts(page, size);
@@ -59,8 +200,15 @@ public class ProductController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Optional<Product>> updateProduct(@PathVariable Long id, @RequestBody ProductRequestDTO product) {
-        return productService.updateProduct(id, product);
+    public ResponseEntity<ProductResponseDTO> updateProduct(@PathVariable Long id, @RequestBody ProductRequestDTO product,
+                                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                            String ifMatch) {
+
+        var updated = productService.updateProduct(id, product, ifMatch);
+
+        return ResponseEntity.ok()
+                .eTag(ResourceValidator.of(updated).eTag())
+                .body(updated);
     }
 
 }
@@ -0,0 +1,12 @@
+package ms.productService.dtos;
+
+import java.util.List;
+
+public record BulkImportReport(
+        int received,
+        int imported,
+        int rejected,
+        long elapsedMillis,
+        double rowsPerSecond,
+        List<BulkImportRowResult> rows
+) {}
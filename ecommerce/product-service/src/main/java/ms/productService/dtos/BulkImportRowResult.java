@@ -0,0 +1,9 @@
+package ms.productService.dtos;
+
+public record BulkImportRowResult(
+        int index,
+        Long id,
+        String name,
+        ImportStatus status,
+        String message
+) {}
@@ -0,0 +1,17 @@
+package ms.productService.dtos;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record BulkPriceUpdateDTO(
+        List<Long> ids,
+
+        String categoryName,
+
+        @NotNull(message = "O percentual é obrigatório.")
+        @DecimalMin(value = "-100.0", message = "O percentual deve ser maior que -100.", inclusive = false)
+        BigDecimal percentage
+) {}
@@ -0,0 +1,14 @@
+package ms.productService.dtos;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public record BulkStatusUpdateDTO(
+        @NotEmpty(message = "Informe ao menos um produto.")
+        List<Long> ids,
+
+        @NotNull(message = "O status é obrigatório.")
+        StatusProduct status
+) {}
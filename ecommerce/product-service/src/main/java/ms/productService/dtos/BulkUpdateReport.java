@@ -0,0 +1,7 @@
+package ms.productService.dtos;
+
+public record BulkUpdateReport(
+        int requested,
+        int updated,
+        long elapsedMillis
+) {}
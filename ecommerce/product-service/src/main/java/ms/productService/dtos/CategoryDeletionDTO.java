@@ -0,0 +1,44 @@
+package ms.productService.dtos;
+
+import ms.productService.entity.CategoryDeletion;
+
+import java.time.LocalDateTime;
+
+public record CategoryDeletionDTO(
+        Long id,
+        Long categoryId,
+        String categoryName,
+        CategoryDeletionStatus status,
+        long totalProducts,
+        long deletedProducts,
+        double progress,
+        String error,
+        LocalDateTime createdIn,
+        LocalDateTime finishedIn
+) {
+
+    public static CategoryDeletionDTO from(CategoryDeletion deletion) {
+        double progress;
+
+        if (deletion.getStatus() == CategoryDeletionStatus.CONCLUIDA) {
+            progress = 1.0;
+        } else if (deletion.getTotalProducts() == 0) {
+            progress = 0.0;
+        } else {
+            progress = Math.min(1.0, (double) deletion.getDeletedProducts() / deletion.getTotalProducts());
+        }
+
+        return new CategoryDeletionDTO(
+                deletion.getId(),
+                deletion.getCategoryId(),
+                deletion.getCategoryName(),
+                deletion.getStatus(),
+                deletion.getTotalProducts(),
+                deletion.getDeletedProducts(),
+                progress,
+                deletion.getError(),
+                deletion.getCreatedIn(),
+                deletion.getFinishedIn()
+        );
+    }
+}
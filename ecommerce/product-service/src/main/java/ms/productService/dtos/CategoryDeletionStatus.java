@@ -0,0 +1,8 @@
+package ms.productService.dtos;
+
+public enum CategoryDeletionStatus {
+    PENDENTE,
+    EM_ANDAMENTO,
+    CONCLUIDA,
+    FALHOU
+}
@@ -0,0 +1,8 @@
+package ms.productService.dtos;
+
+public record CategorySummaryDTO(
+        Long id,
+        String name,
+        String description,
+        long activeProductCount
+) {}
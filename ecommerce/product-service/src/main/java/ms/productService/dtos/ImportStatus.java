@@ -0,0 +1,6 @@
+package ms.productService.dtos;
+
+public enum ImportStatus {
+    IMPORTADO,
+    REJEITADO
+}
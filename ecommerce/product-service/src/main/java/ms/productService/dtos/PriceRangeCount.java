@@ -0,0 +1,9 @@
+package ms.productService.dtos;
+
+import java.math.BigDecimal;
+
+public record PriceRangeCount(
+        BigDecimal from,
+        BigDecimal to,
+        long count
+) {}
@@ -0,0 +1,10 @@
+package ms.productService.dtos;
+
+import java.util.List;
+import java.util.Map;
+
+public record ProductFacetsDTO(
+        Map<String, Long> categories,
+        Map<StatusProduct, Long> statuses,
+        List<PriceRangeCount> priceRanges
+) {}
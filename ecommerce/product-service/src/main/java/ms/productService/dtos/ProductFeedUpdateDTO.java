@@ -0,0 +1,25 @@
+package ms.productService.dtos;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+public record ProductFeedUpdateDTO(
+        @NotNull(message = "O produto é obrigatório.")
+        Long productId,
+
+        @DecimalMin(value = "0.0", message = "O preço deve ser maior que zero.", inclusive = false)
+        BigDecimal price,
+
+        StatusProduct status
+) {
+
+    public ProductFeedUpdateDTO mergedWith(ProductFeedUpdateDTO newer) {
+        return new ProductFeedUpdateDTO(
+                productId,
+                newer.price() != null ? newer.price() : price,
+                newer.status() != null ? newer.status() : status
+        );
+    }
+}
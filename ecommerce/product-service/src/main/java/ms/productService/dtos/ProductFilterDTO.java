@@ -0,0 +1,11 @@
+package ms.productService.dtos;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record ProductFilterDTO(
+        List<String> categories,
+        List<StatusProduct> statuses,
+        BigDecimal minPrice,
+        BigDecimal maxPrice
+) {}
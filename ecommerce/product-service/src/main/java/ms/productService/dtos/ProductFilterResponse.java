@@ -0,0 +1,6 @@
+package ms.productService.dtos;
+
+public record ProductFilterResponse(
+        PaginatedResponse<ProductResponseDTO> products,
+        ProductFacetsDTO facets
+) {}
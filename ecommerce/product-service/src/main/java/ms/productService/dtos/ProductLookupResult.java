@@ -0,0 +1,16 @@
+package ms.productService.dtos;
+
+public record ProductLookupResult(
+        Long id,
+        boolean found,
+        ProductResponseDTO product
+) {
+
+    public static ProductLookupResult found(ProductResponseDTO product) {
+        return new ProductLookupResult(product.id(), true, product);
+    }
+
+    public static ProductLookupResult notFound(Long id) {
+        return new ProductLookupResult(id, false, null);
+    }
+}
@@ -1,14 +1,37 @@
 package ms.productService.dtos;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import ms.productService.entity.Product;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 public record ProductResponseDTO(
+        Long id,
         String name,
         String description,
         BigDecimal price,
         StatusProduct status,
         LocalDateTime createdIn,
         LocalDateTime updatedIn,
-        String categoryName
-) {}
+        String categoryName,
+
+        // Optimistic-lock version, carried for the ETag only; it is not part of the JSON representation.
+        @JsonIgnore
+        long version
+) {
+
+    public static ProductResponseDTO from(Product product) {
+        return new ProductResponseDTO(
+                product.getId(),
+                product.getName(),
+                product.getDescription(),
+                product.getPrice(),
+                product.getStatus(),
+                product.getCreatedIn(),
+                product.getUpdatedIn(),
+                product.getCategory().getName(),
+                product.getVersion()
+        );
+    }
+}
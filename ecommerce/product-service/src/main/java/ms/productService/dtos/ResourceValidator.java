@@ -0,0 +1,25 @@
+package ms.productService.dtos;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+public record ResourceValidator(String eTag, long lastModified) {
+
+    public static ResourceValidator of(ProductResponseDTO product) {
+
+        LocalDateTime modifiedIn = product.updatedIn() != null ? product.updatedIn() : product.createdIn();
+        Instant modifiedAt = modifiedIn != null ? modifiedIn.atZone(ZoneId.systemDefault()).toInstant() : Instant.EPOCH;
+
+        // The version is the optimistic lock every write path increments, a category rename included, so the tag
+        // changes exactly when the representation does and If-Match guards the same thing the lock does.
+        String eTag = "\"%d-%d\"".formatted(product.id(), product.version());
+
+        return new ResourceValidator(eTag, modifiedAt.toEpochMilli());
+    }
+
+    // The gzip body is a different byte sequence, so it needs its own strong tag.
+    public String gzipETag() {
+        return eTag.substring(0, eTag.length() - 1) + "-gzip\"";
+    }
+}
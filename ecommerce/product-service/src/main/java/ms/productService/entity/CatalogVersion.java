@@ -0,0 +1,45 @@
+package ms.productService.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "tb_catalog_version")
+public class CatalogVersion {
+
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedIn;
+
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getUpdatedIn() {
+        return updatedIn;
+    }
+
+    public void setUpdatedIn(LocalDateTime updatedIn) {
+        this.updatedIn = updatedIn;
+    }
+}
@@ -1,14 +1,21 @@
 package ms.productService.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import ms.productService.configs.SecondLevelCacheConfig;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
 @Table(name = "tb_category")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.CATEGORY_REGION)
 public class Category {
 
     @Id
@@ -27,7 +34,16 @@ public class Category {
 
     private LocalDateTime updateIn;
 
-    @OneToMany(mappedBy = "category", cascade = CascadeType.ALL, orphanRemoval = true)
+    // Maintained in the database by CategoryProductCounter; never written from the entity. Those updates bypass the
+    // second-level cache, so read it through CategoryRepository.findAllSummaries.
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    @JsonIgnore
+    private long activeProductCount;
+
+    // Products are removed in chunks by CategoryDeletionService before the category itself is deleted.
+    @OneToMany(mappedBy = "category")
+    @JsonIgnore
     private List<Product> products;
 
 
@@ -71,6 +87,10 @@ public class Category {
         this.updateIn = updateIn;
     }
 
+    public long getActiveProductCount() {
+        return activeProductCount;
+    }
+
     public List<Product> getProducts() {
         return products;
     }
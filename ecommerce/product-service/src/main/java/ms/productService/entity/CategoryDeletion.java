@@ -0,0 +1,133 @@
+package ms.productService.entity;
+
+import jakarta.persistence.*;
+import ms.productService.dtos.CategoryDeletionStatus;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "tb_category_deletion", indexes = {
+        @Index(name = "idx_category_deletion_status", columnList = "status, category_id")
+})
+public class CategoryDeletion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long categoryId;
+
+    @Column(length = 150)
+    private String categoryName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private CategoryDeletionStatus status;
+
+    // Instance currently running the job; taken over only once updatedIn has gone stale.
+    @Column(length = 36)
+    private String owner;
+
+    private long totalProducts;
+
+    private long deletedProducts;
+
+    @Column(length = 500)
+    private String error;
+
+    private LocalDateTime createdIn;
+
+    private LocalDateTime updatedIn;
+
+    private LocalDateTime finishedIn;
+
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public void setCategoryName(String categoryName) {
+        this.categoryName = categoryName;
+    }
+
+    public CategoryDeletionStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(CategoryDeletionStatus status) {
+        this.status = status;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public long getTotalProducts() {
+        return totalProducts;
+    }
+
+    public void setTotalProducts(long totalProducts) {
+        this.totalProducts = totalProducts;
+    }
+
+    public long getDeletedProducts() {
+        return deletedProducts;
+    }
+
+    public void setDeletedProducts(long deletedProducts) {
+        this.deletedProducts = deletedProducts;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getCreatedIn() {
+        return createdIn;
+    }
+
+    public void setCreatedIn(LocalDateTime createdIn) {
+        this.createdIn = createdIn;
+    }
+
+    public LocalDateTime getUpdatedIn() {
+        return updatedIn;
+    }
+
+    public void setUpdatedIn(LocalDateTime updatedIn) {
+        this.updatedIn = updatedIn;
+    }
+
+    public LocalDateTime getFinishedIn() {
+        return finishedIn;
+    }
+
+    public void setFinishedIn(LocalDateTime finishedIn) {
+        this.finishedIn = finishedIn;
+    }
+}
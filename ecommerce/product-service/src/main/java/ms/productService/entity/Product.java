@@ -7,12 +7,17 @@ import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tb_product")
+@Table(name = "tb_product", indexes = {
+        @Index(name = "idx_product_category_name", columnList = "category_id, name"),
+        @Index(name = "idx_product_name_id", columnList = "name, id"),
+        @Index(name = "idx_product_status_category_price", columnList = "status, category_id, price")
+})
 public class Product {
 
     @Id
@@ -38,6 +43,11 @@ public class Product {
     private LocalDateTime createdIn;
     private LocalDateTime updatedIn;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
@@ -55,6 +65,10 @@ public class Product {
         this.category = category;
     }
 
+    public Long getId() {
+        return id;
+    }
+
     public void setId(Long id) {
         this.id = id;
     }
@@ -106,4 +120,8 @@ public class Product {
     public void setUpdatedIn(LocalDateTime updatedIn) {
         this.updatedIn = updatedIn;
     }
+
+    public long getVersion() {
+        return version;
+    }
 }
@@ -0,0 +1,31 @@
+package ms.productService.entity;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "tb_replica_heartbeat")
+public class ReplicaHeartbeat {
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private Long beatAt;
+
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Long getBeatAt() {
+        return beatAt;
+    }
+
+    public void setBeatAt(Long beatAt) {
+        this.beatAt = beatAt;
+    }
+}
@@ -0,0 +1,4 @@
+package ms.productService.events;
+
+public record CategoriesChangedEvent(ChangeType type, Long categoryId) {
+}
@@ -0,0 +1,7 @@
+package ms.productService.events;
+
+public enum ChangeType {
+    CRIADO,
+    ATUALIZADO,
+    EXCLUIDO
+}
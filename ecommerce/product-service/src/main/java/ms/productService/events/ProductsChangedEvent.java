@@ -0,0 +1,19 @@
+package ms.productService.events;
+
+import java.util.Collection;
+import java.util.List;
+
+public record ProductsChangedEvent(ChangeType type, Collection<Long> productIds) {
+
+    public static ProductsChangedEvent created(Long productId) {
+        return new ProductsChangedEvent(ChangeType.CRIADO, List.of(productId));
+    }
+
+    public static ProductsChangedEvent updated(Long productId) {
+        return new ProductsChangedEvent(ChangeType.ATUALIZADO, List.of(productId));
+    }
+
+    public static ProductsChangedEvent deleted(Long productId) {
+        return new ProductsChangedEvent(ChangeType.EXCLUIDO, List.of(productId));
+    }
+}
@@ -0,0 +1,203 @@
+package ms.productService.listeners;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.Validator;
+import ms.productService.configs.RabbitMQConfig;
+import ms.productService.dtos.ProductFeedUpdateDTO;
+import ms.productService.services.ProductBulkService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Component
+public class ProductFeedListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductFeedListener.class);
+
+    private ProductBulkService productBulkService;
+    private ObjectMapper objectMapper;
+    private Validator validator;
+
+    private Counter applied;
+    private Counter deadLettered;
+    private Counter requeued;
+    private Counter notFound;
+    private DistributionSummary batchSize;
+    private Timer batchDuration;
+    private Timer lag;
+
+    public ProductFeedListener(ProductBulkService productBulkService, ObjectMapper objectMapper, Validator validator,
+                               AmqpAdmin amqpAdmin, MeterRegistry meterRegistry) {
+        this.productBulkService = productBulkService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+
+        this.applied = messages(meterRegistry, "applied");
+        this.deadLettered = messages(meterRegistry, "dead_lettered");
+        this.requeued = messages(meterRegistry, "requeued");
+        this.notFound = messages(meterRegistry, "not_found");
+        this.batchSize = DistributionSummary.builder("product.feed.batch.size")
+                .description("Mensagens entregues por lote do feed")
+                .register(meterRegistry);
+        this.batchDuration = Timer.builder("product.feed.batch.duration")
+                .description("Tempo para aplicar um lote do feed")
+                .register(meterRegistry);
+        this.lag = Timer.builder("product.feed.lag")
+                .description("Tempo entre a publicação da mensagem e sua aplicação")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("product.feed.queue.depth", amqpAdmin, ProductFeedListener::queueDepth)
+                .description("Mensagens aguardando consumo na fila do feed")
+                .register(meterRegistry);
+    }
+
+    private static Counter messages(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("product.feed.messages")
+                .description("Mensagens do feed processadas")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static double queueDepth(AmqpAdmin amqpAdmin) {
+        try {
+            var info = amqpAdmin.getQueueInfo(RabbitMQConfig.FEED_QUEUE_NAME);
+            return info != null ? info.getMessageCount() : Double.NaN;
+        } catch (RuntimeException e) {
+            return Double.NaN;
+        }
+    }
+
+    @RabbitListener(queues = RabbitMQConfig.FEED_QUEUE_NAME)
+    public void onFeed(List<Message> messages, Channel channel) throws IOException {
+
+        batchSize.record(messages.size());
+
+        List<ProductFeedUpdateDTO> updates = new ArrayList<>(messages.size());
+        List<Message> accepted = new ArrayList<>(messages.size());
+
+        for (Message message : messages) {
+            var update = parse(message);
+
+            if (update == null) {
+                channel.basicNack(message.getMessageProperties().getDeliveryTag(), false, false);
+                deadLettered.increment();
+                continue;
+            }
+
+            updates.add(update);
+            accepted.add(message);
+        }
+
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        Set<Long> updated;
+
+        try {
+            updated = batchDuration.record(() -> productBulkService.applyFeed(updates));
+        } catch (RuntimeException e) {
+            if (e instanceof TransientDataAccessException) {
+                log.warn("Falha transitória ao aplicar lote do feed com {} mensagens: {}", accepted.size(), e.getMessage());
+                // Rejected messages were already settled, so a multiple nack up to the last accepted tag covers only this batch.
+                channel.basicNack(accepted.get(accepted.size() - 1).getMessageProperties().getDeliveryTag(), true, true);
+                requeued.increment(accepted.size());
+                return;
+            }
+
+            // One bad row, or a failure outside the database such as a rollback or a mapping error, fails the whole
+            // batch; applying the messages one at a time keeps the rest of it out of the DLQ.
+            log.warn("Falha ao aplicar lote do feed com {} mensagens; aplicando uma a uma: {}", accepted.size(), e.getMessage());
+            applyOneByOne(accepted, updates, channel);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+
+        if (updates.stream().allMatch(update -> updated.contains(update.productId()))) {
+            channel.basicAck(accepted.get(accepted.size() - 1).getMessageProperties().getDeliveryTag(), true);
+            applied.increment(accepted.size());
+            accepted.forEach(message -> recordLag(message, now));
+            return;
+        }
+
+        for (int i = 0; i < accepted.size(); i++) {
+            settle(accepted.get(i), updated.contains(updates.get(i).productId()), channel, now);
+        }
+    }
+
+    private void applyOneByOne(List<Message> accepted, List<ProductFeedUpdateDTO> updates, Channel channel) throws IOException {
+
+        for (int i = 0; i < accepted.size(); i++) {
+            Message message = accepted.get(i);
+            Set<Long> updated;
+
+            try {
+                updated = productBulkService.applyFeed(List.of(updates.get(i)));
+            } catch (RuntimeException e) {
+                // Only a transient database failure is worth a redelivery; anything else would fail the same way again.
+                boolean retry = e instanceof TransientDataAccessException;
+                log.warn("Falha ao aplicar mensagem do feed do produto {}: {}", updates.get(i).productId(), e.getMessage());
+                channel.basicNack(message.getMessageProperties().getDeliveryTag(), false, retry);
+                (retry ? requeued : deadLettered).increment();
+                continue;
+            }
+
+            settle(message, !updated.isEmpty(), channel, System.currentTimeMillis());
+        }
+    }
+
+    // Messages for products that do not exist are dead-lettered rather than acknowledged as applied.
+    private void settle(Message message, boolean applied, Channel channel, long now) throws IOException {
+
+        long tag = message.getMessageProperties().getDeliveryTag();
+
+        if (applied) {
+            channel.basicAck(tag, false);
+            this.applied.increment();
+            recordLag(message, now);
+        } else {
+            channel.basicNack(tag, false, false);
+            notFound.increment();
+        }
+    }
+
+    private void recordLag(Message message, long now) {
+
+        var timestamp = message.getMessageProperties().getTimestamp();
+
+        if (timestamp != null) {
+            lag.record(Duration.ofMillis(Math.max(0, now - timestamp.getTime())));
+        }
+    }
+
+    private ProductFeedUpdateDTO parse(Message message) {
+        try {
+            var update = objectMapper.readValue(message.getBody(), ProductFeedUpdateDTO.class);
+
+            if (!validator.validate(update).isEmpty() || (update.price() == null && update.status() == null)) {
+                return null;
+            }
+
+            return update;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package ms.productService.repositories;
+
+import ms.productService.dtos.CategoryDeletionStatus;
+import ms.productService.entity.CategoryDeletion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface CategoryDeletionRepository extends JpaRepository<CategoryDeletion, Long> {
+
+    Optional<CategoryDeletion> findFirstByCategoryIdAndStatusIn(Long categoryId, Collection<CategoryDeletionStatus> statuses);
+
+    @Query("""
+            select d from CategoryDeletion d
+            where d.status = :pending or (d.status = :running and d.updatedIn < :staleBefore)
+            """)
+    List<CategoryDeletion> findResumable(CategoryDeletionStatus pending, CategoryDeletionStatus running,
+                                         LocalDateTime staleBefore);
+
+    // Same condition as findResumable, checked again under the row lock so only one instance wins the job.
+    @Modifying
+    @Query("""
+            update CategoryDeletion d set d.status = :running, d.owner = :owner, d.updatedIn = :now
+            where d.id = :id and (d.status = :pending or (d.status = :running and d.updatedIn < :staleBefore))
+            """)
+    int claim(Long id, String owner, CategoryDeletionStatus pending, CategoryDeletionStatus running,
+              LocalDateTime now, LocalDateTime staleBefore);
+
+    @Modifying
+    @Query("update CategoryDeletion d set d.updatedIn = :now where d.id = :id and d.owner = :owner and d.status = :running")
+    int renewClaim(Long id, String owner, CategoryDeletionStatus running, LocalDateTime now);
+
+    @Modifying
+    @Query("update CategoryDeletion d set d.deletedProducts = d.deletedProducts + :count, d.updatedIn = :now where d.id = :id")
+    int addDeletedProducts(Long id, long count, LocalDateTime now);
+}
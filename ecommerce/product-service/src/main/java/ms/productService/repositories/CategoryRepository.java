@@ -1,10 +1,32 @@
 package ms.productService.repositories;
 
+import ms.productService.dtos.CategorySummaryDTO;
 import ms.productService.entity.Category;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<Category> findByName(String name);
+
+    // Deliberately not cacheable: the query cache only sees writes made on this instance.
+    @Query("select c.id from Category c where c.name = :name")
+    Optional<Long> findIdByName(String name);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Category c where c.id = :id")
+    Optional<Category> findLockedById(Long id);
+
+    @Query("select new ms.productService.dtos.CategorySummaryDTO(c.id, c.name, c.description, c.activeProductCount) "
+            + "from Category c order by c.name")
+    List<CategorySummaryDTO> findAllSummaries();
 }
@@ -0,0 +1,31 @@
+package ms.productService.repositories;
+
+import ms.productService.entity.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query("select e.id from OutboxEvent e where e.claimedBy is null or e.claimedAt < :staleBefore order by e.id")
+    List<Long> findClaimableIds(LocalDateTime staleBefore, Limit limit);
+
+    // Same condition as findClaimableIds, checked again under the row lock so each row is claimed by one relay only.
+    @Modifying
+    @Query("""
+            update OutboxEvent e set e.claimedBy = :owner, e.claimedAt = :now
+            where e.id in :ids and (e.claimedBy is null or e.claimedAt < :staleBefore)
+            """)
+    int claim(Collection<Long> ids, String owner, LocalDateTime now, LocalDateTime staleBefore);
+
+    List<OutboxEvent> findByIdInAndClaimedByOrderByIdAsc(Collection<Long> ids, String claimedBy);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.claimedBy = null, e.claimedAt = null where e.id in :ids and e.claimedBy = :owner")
+    int release(Collection<Long> ids, String owner);
+}
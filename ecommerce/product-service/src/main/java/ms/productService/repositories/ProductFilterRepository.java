@@ -0,0 +1,12 @@
+package ms.productService.repositories;
+
+import ms.productService.dtos.ProductFilterDTO;
+import ms.productService.dtos.ProductResponseDTO;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public interface ProductFilterRepository {
+
+    List<ProductResponseDTO> findResponsesByFilter(ProductFilterDTO filter, Pageable pageable);
+}
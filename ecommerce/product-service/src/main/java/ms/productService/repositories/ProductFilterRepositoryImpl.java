@@ -0,0 +1,59 @@
+package ms.productService.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import ms.productService.dtos.ProductFilterDTO;
+import ms.productService.dtos.ProductResponseDTO;
+import ms.productService.entity.Category;
+import ms.productService.entity.Product;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductFilterRepositoryImpl implements ProductFilterRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProductResponseDTO> findResponsesByFilter(ProductFilterDTO filter, Pageable pageable) {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductResponseDTO> query = cb.createQuery(ProductResponseDTO.class);
+        Root<Product> p = query.from(Product.class);
+        Join<Product, Category> c = p.join("category");
+
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (filter.statuses() != null && !filter.statuses().isEmpty()) {
+            predicates.add(p.get("status").in(filter.statuses()));
+        }
+        if (filter.categories() != null && !filter.categories().isEmpty()) {
+            predicates.add(c.get("name").in(filter.categories()));
+        }
+        if (filter.minPrice() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(p.get("price"), filter.minPrice()));
+        }
+        if (filter.maxPrice() != null) {
+            predicates.add(cb.lessThanOrEqualTo(p.get("price"), filter.maxPrice()));
+        }
+
+        query.select(cb.construct(ProductResponseDTO.class,
+                        p.get("id"), p.get("name"), p.get("description"), p.get("price"), p.get("status"),
+                        p.get("createdIn"), p.get("updatedIn"), c.get("name"), p.get("version")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), p, cb));
+
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+}
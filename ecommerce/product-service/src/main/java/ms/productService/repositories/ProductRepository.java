@@ -1,7 +1,107 @@
 package ms.productService.repositories;
 
+import jakarta.persistence.QueryHint;
+import ms.productService.dtos.ProductResponseDTO;
+import ms.productService.dtos.StatusProduct;
 import ms.productService.entity.Product;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface ProductRepository extends JpaRepository<Product,Long> {
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface ProductRepository extends JpaRepository<Product,Long>, ProductFilterRepository {
+
+    String SELECT_PRODUCT_RESPONSE = """
+            select new ms.productService.dtos.ProductResponseDTO(
+                p.id, p.name, p.description, p.price, p.status, p.createdIn, p.updatedIn, c.name, p.version)
+            from Product p join p.category c
+            """;
+
+    @Query(SELECT_PRODUCT_RESPONSE)
+    List<ProductResponseDTO> findAllResponses();
+
+    @Query(value = SELECT_PRODUCT_RESPONSE,
+            countQuery = "select count(p) from Product p join p.category c")
+    Page<ProductResponseDTO> findAllResponses(Pageable pageable);
+
+    @Query(SELECT_PRODUCT_RESPONSE + " where p.id in :ids")
+    List<ProductResponseDTO> findAllResponsesByIdIn(Collection<Long> ids);
+
+    @Query(SELECT_PRODUCT_RESPONSE + " where c.name = :categoryName")
+    List<ProductResponseDTO> findAllResponsesByCategoryName(String categoryName);
+
+    @Query(value = SELECT_PRODUCT_RESPONSE + " where c.name = :categoryName",
+            countQuery = "select count(p) from Product p join p.category c where c.name = :categoryName")
+    Page<ProductResponseDTO> findAllResponsesByCategoryName(String categoryName, Pageable pageable);
+
+    @Query(SELECT_PRODUCT_RESPONSE + " order by p.name desc, p.id desc")
+    List<ProductResponseDTO> findFirstResponses(Limit limit);
+
+    @Query(SELECT_PRODUCT_RESPONSE + """
+            where p.name < :name or (p.name = :name and p.id < :id)
+            order by p.name desc, p.id desc
+            """)
+    List<ProductResponseDTO> findResponsesAfter(String name, Long id, Limit limit);
+
+    @Query(SELECT_PRODUCT_RESPONSE)
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<ProductResponseDTO> streamAllResponses();
+
+    @EntityGraph(attributePaths = "category")
+    Optional<Product> findWithCategoryById(Long id);
+
+    @Query("select p.id from Product p where p.category.id = :categoryId")
+    List<Long> findIdsByCategoryId(Long categoryId);
+
+    @Query("select p.id from Product p where p.category.id = :categoryId order by p.id")
+    List<Long> findIdsByCategoryId(Long categoryId, Limit limit);
+
+    @Query("select p.id from Product p where p.category.id = :categoryId and p.id > :afterId order by p.id")
+    List<Long> findIdsByCategoryIdAfter(Long categoryId, Long afterId, Limit limit);
+
+    long countByCategoryId(Long categoryId);
+
+    @Modifying
+    @Query("delete from Product p where p.id in :ids")
+    int deleteByIds(Collection<Long> ids);
+
+    @Query("select p.name from Product p where p.name in :names")
+    Set<String> findExistingNames(Collection<String> names);
+
+    @Modifying
+    @Query("update Product p set p.status = :status, p.updatedIn = :now, p.version = p.version + 1 where p.id in :ids")
+    int updateStatus(Collection<Long> ids, StatusProduct status, LocalDateTime now);
+
+    @Modifying
+    @Query("update Product p set p.price = round(p.price * :factor, 2), p.updatedIn = :now, p.version = p.version + 1 "
+            + "where p.id in :ids")
+    int updatePrice(Collection<Long> ids, BigDecimal factor, LocalDateTime now);
+
+    @Modifying
+    @Query("update Product p set p.version = p.version + 1 "
+            + "where p.category.id = :categoryId and p.id between :firstId and :lastId")
+    int incrementVersionByCategory(Long categoryId, Long firstId, Long lastId);
+
+    @Modifying
+    @Query("update Product p set p.price = round(p.price * :factor, 2), p.updatedIn = :now, p.version = p.version + 1 "
+            + "where p.category.id = :categoryId and p.id between :firstId and :lastId")
+    int updatePriceByCategory(Long categoryId, Long firstId, Long lastId, BigDecimal factor, LocalDateTime now);
 }
@@ -0,0 +1,121 @@
+package ms.productService.services;
+
+import jakarta.persistence.EntityManager;
+import ms.productService.dtos.ResourceValidator;
+import ms.productService.events.CategoriesChangedEvent;
+import ms.productService.events.ProductsChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Versions of the product and category lists, kept in tb_catalog_version so every instance derives the same list
+ * validators. Each writing transaction bumps the version of what it changed once, right before it commits.
+ */
+@Service
+public class CatalogVersionService {
+
+    static final String PRODUCTS = "products";
+    static final String CATEGORIES = "categories";
+
+    private static final String BUMP_VERSION = "update tb_catalog_version set version = version + 1, updated_in = ? where name = ?";
+    private static final String INSERT_VERSION = "insert into tb_catalog_version (name, version, updated_in) values (?, 1, ?)";
+    private static final String SELECT_VERSION = "select version, updated_in from tb_catalog_version where name = ?";
+
+    private JdbcTemplate jdbcTemplate;
+    private EntityManager entityManager;
+
+    public CatalogVersionService(JdbcTemplate jdbcTemplate, EntityManager entityManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+    }
+
+    private final class VersionBump implements TransactionSynchronization {
+
+        private final String name;
+
+        private VersionBump(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // Flushing first means the version row is always the last lock the transaction takes, so writers that
+            // flushed product rows earlier never wait on it while holding rows this one still has to write.
+            entityManager.flush();
+            bump(name);
+        }
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        bumpOnCommit(PRODUCTS);
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onCategoriesChanged(CategoriesChangedEvent event) {
+        bumpOnCommit(CATEGORIES);
+    }
+
+    // Read-only so the version comes from the same replica as the list it validates; a lagging replica then serves
+    // an older tag with the older list rather than a newer tag with stale content.
+    @Transactional(readOnly = true)
+    public ResourceValidator productsValidator() {
+        return validatorOf(PRODUCTS, "p");
+    }
+
+    @Transactional(readOnly = true)
+    public ResourceValidator categoriesValidator() {
+        return validatorOf(CATEGORIES, "c");
+    }
+
+    private void bumpOnCommit(String name) {
+
+        boolean registered = TransactionSynchronizationManager.getSynchronizations().stream()
+                .anyMatch(synchronization -> synchronization instanceof VersionBump bump && bump.name.equals(name));
+
+        if (!registered) {
+            TransactionSynchronizationManager.registerSynchronization(new VersionBump(name));
+        }
+    }
+
+    private void bump(String name) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        if (jdbcTemplate.update(BUMP_VERSION, now, name) > 0) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.update(INSERT_VERSION, name, now);
+        } catch (DuplicateKeyException e) {
+            // Another transaction created the row first.
+            jdbcTemplate.update(BUMP_VERSION, now, name);
+        }
+    }
+
+    private ResourceValidator validatorOf(String name, String kind) {
+
+        return jdbcTemplate.query(SELECT_VERSION, rs -> {
+            if (!rs.next()) {
+                return new ResourceValidator("\"%s-0\"".formatted(kind), 0);
+            }
+
+            long lastModified = rs.getTimestamp("updated_in").toLocalDateTime()
+                    .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+            return new ResourceValidator("\"%s-%d\"".formatted(kind, rs.getLong("version")), lastModified);
+        }, name);
+    }
+}
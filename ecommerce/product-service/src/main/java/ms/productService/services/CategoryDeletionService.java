@@ -0,0 +1,247 @@
+package ms.productService.services;
+
+import jakarta.persistence.EntityNotFoundException;
+import ms.productService.configs.CacheConfig;
+import ms.productService.dtos.CategoryDeletionDTO;
+import ms.productService.dtos.CategoryDeletionStatus;
+import ms.productService.entity.CategoryDeletion;
+import ms.productService.events.CategoriesChangedEvent;
+import ms.productService.events.ChangeType;
+import ms.productService.events.ProductsChangedEvent;
+import ms.productService.repositories.CategoryDeletionRepository;
+import ms.productService.repositories.CategoryRepository;
+import ms.productService.repositories.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Deletes a category and its products in bounded transactions of {@code batchSize} products each, so no single
+ * transaction holds locks on the whole category. Small categories are deleted within the request; larger ones run on
+ * the application task executor and are followed through {@link #getDeletion(Long)}.
+ * <p>
+ * A job is run by the instance that claims it. The claim is renewed by every chunk, and another instance only takes
+ * the job over once it has gone {@code stale-after} without progress, so a job is never run twice at once.
+ */
+@Service
+public class CategoryDeletionService {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryDeletionService.class);
+
+    private static final int LOST_CLAIM = -1;
+
+    private static final List<CategoryDeletionStatus> ACTIVE =
+            List.of(CategoryDeletionStatus.PENDENTE, CategoryDeletionStatus.EM_ANDAMENTO);
+
+    private CategoryRepository categoryRepository;
+    private ProductRepository productRepository;
+    private CategoryDeletionRepository categoryDeletionRepository;
+    private CategoryNameResolver categoryNameResolver;
+    private CategoryProductCounter categoryProductCounter;
+    private CacheManager cacheManager;
+    private ApplicationEventPublisher eventPublisher;
+    private TransactionTemplate transactionTemplate;
+    private TaskExecutor taskExecutor;
+    private int batchSize;
+    private long syncThreshold;
+    private Duration staleAfter;
+    private String owner = UUID.randomUUID().toString();
+
+    public CategoryDeletionService(CategoryRepository categoryRepository, ProductRepository productRepository,
+                                   CategoryDeletionRepository categoryDeletionRepository,
+                                   CategoryNameResolver categoryNameResolver,
+                                   CategoryProductCounter categoryProductCounter, CacheManager cacheManager,
+                                   ApplicationEventPublisher eventPublisher, TransactionTemplate transactionTemplate,
+                                   @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                                   TaskExecutor taskExecutor,
+                                   @Value("${product.category-deletion.batch-size:1000}") int batchSize,
+                                   @Value("${product.category-deletion.sync-threshold:1000}") long syncThreshold,
+                                   @Value("${product.category-deletion.stale-after:5m}") Duration staleAfter) {
+        this.categoryRepository = categoryRepository;
+        this.productRepository = productRepository;
+        this.categoryDeletionRepository = categoryDeletionRepository;
+        this.categoryNameResolver = categoryNameResolver;
+        this.categoryProductCounter = categoryProductCounter;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.taskExecutor = taskExecutor;
+        this.batchSize = batchSize;
+        this.syncThreshold = syncThreshold;
+        this.staleAfter = staleAfter;
+    }
+
+    public CategoryDeletionDTO deleteCategory(Long categoryId) {
+
+        var running = categoryDeletionRepository.findFirstByCategoryIdAndStatusIn(categoryId, ACTIVE);
+
+        if (running.isPresent()) {
+            return CategoryDeletionDTO.from(running.get());
+        }
+
+        var category = categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new EntityNotFoundException("Categoria não encontrada."));
+
+        var deletion = new CategoryDeletion();
+        deletion.setCategoryId(categoryId);
+        deletion.setCategoryName(category.getName());
+        deletion.setStatus(CategoryDeletionStatus.PENDENTE);
+        deletion.setTotalProducts(productRepository.countByCategoryId(categoryId));
+        deletion.setCreatedIn(LocalDateTime.now());
+        deletion.setUpdatedIn(deletion.getCreatedIn());
+
+        Long id = categoryDeletionRepository.save(deletion).getId();
+
+        if (deletion.getTotalProducts() <= syncThreshold) {
+            run(id);
+        } else {
+            taskExecutor.execute(() -> run(id));
+        }
+
+        return getDeletion(id);
+    }
+
+    public CategoryDeletionDTO getDeletion(Long id) {
+        return categoryDeletionRepository.findById(id)
+                .map(CategoryDeletionDTO::from)
+                .orElseThrow(() -> new EntityNotFoundException("Exclusão de categoria não encontrada."));
+    }
+
+    // Every chunk is committed on its own, so a job interrupted by a restart simply carries on from what is left.
+    @Scheduled(fixedDelayString = "${product.category-deletion.resume-interval:60000}")
+    public void resume() {
+        categoryDeletionRepository.findResumable(CategoryDeletionStatus.PENDENTE, CategoryDeletionStatus.EM_ANDAMENTO,
+                LocalDateTime.now().minus(staleAfter)).forEach(deletion -> {
+            log.info("Retomando a exclusão da categoria {} ({}).", deletion.getCategoryId(), deletion.getCategoryName());
+            taskExecutor.execute(() -> run(deletion.getId()));
+        });
+    }
+
+    private void run(Long id) {
+
+        try {
+            Long categoryId = transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                int claimed = categoryDeletionRepository.claim(id, owner, CategoryDeletionStatus.PENDENTE,
+                        CategoryDeletionStatus.EM_ANDAMENTO, now, now.minus(staleAfter));
+
+                return claimed == 0 ? null : categoryDeletionRepository.findById(id).orElseThrow().getCategoryId();
+            });
+
+            if (categoryId == null) {
+                log.debug("Exclusão {} de categoria já está com outra instância.", id);
+                return;
+            }
+
+            int removed;
+
+            do {
+                removed = deleteChunk(id, categoryId);
+            } while (removed == batchSize);
+
+            if (removed == LOST_CLAIM || !finish(id, categoryId)) {
+                log.warn("Exclusão {} de categoria assumida por outra instância; interrompendo.", id);
+            }
+        } catch (RuntimeException e) {
+            log.error("Falha na exclusão {} de categoria.", id, e);
+
+            transactionTemplate.executeWithoutResult(status -> categoryDeletionRepository.findById(id)
+                    .filter(deletion -> owner.equals(deletion.getOwner()))
+                    .ifPresent(deletion -> {
+                        deletion.setStatus(CategoryDeletionStatus.FALHOU);
+                        deletion.setError(truncate(e.getMessage()));
+                        deletion.setUpdatedIn(LocalDateTime.now());
+                        deletion.setFinishedIn(deletion.getUpdatedIn());
+                    }));
+        }
+    }
+
+    // Renewing first locks the job row, so an instance trying to take it over waits for this chunk to commit.
+    private boolean renewClaim(Long id) {
+        return categoryDeletionRepository.renewClaim(id, owner, CategoryDeletionStatus.EM_ANDAMENTO,
+                LocalDateTime.now()) == 1;
+    }
+
+    private int deleteChunk(Long id, Long categoryId) {
+        return transactionTemplate.execute(status -> {
+            if (!renewClaim(id)) {
+                return LOST_CLAIM;
+            }
+
+            List<Long> productIds = productRepository.findIdsByCategoryId(categoryId, Limit.of(batchSize));
+
+            categoryDeletionRepository.addDeletedProducts(id, deleteProducts(productIds), LocalDateTime.now());
+
+            return productIds.size();
+        });
+    }
+
+    // Locking the category row keeps products from being added to it between the last chunk and its removal.
+    private boolean finish(Long id, Long categoryId) {
+        return transactionTemplate.execute(status -> {
+            if (!renewClaim(id)) {
+                return false;
+            }
+
+            var category = categoryRepository.findLockedById(categoryId);
+
+            if (category.isPresent()) {
+                List<Long> leftovers = productRepository.findIdsByCategoryId(categoryId);
+
+                categoryDeletionRepository.addDeletedProducts(id, deleteProducts(leftovers), LocalDateTime.now());
+                categoryRepository.delete(category.get());
+                categoryNameResolver.remove(categoryId, category.get().getName());
+                cacheManager.getCache(CacheConfig.CATEGORIES).evict(categoryId);
+                eventPublisher.publishEvent(new CategoriesChangedEvent(ChangeType.EXCLUIDO, categoryId));
+            }
+
+            var deletion = categoryDeletionRepository.findById(id).orElseThrow();
+            deletion.setStatus(CategoryDeletionStatus.CONCLUIDA);
+            deletion.setUpdatedIn(LocalDateTime.now());
+            deletion.setFinishedIn(deletion.getUpdatedIn());
+            return true;
+        });
+    }
+
+    // Returns the rows actually deleted, which can be fewer than the ids when a product was removed meanwhile.
+    private int deleteProducts(List<Long> productIds) {
+
+        if (productIds.isEmpty()) {
+            return 0;
+        }
+
+        categoryProductCounter.moving(productIds, (productId, current) -> null);
+        int deleted = productRepository.deleteByIds(productIds);
+
+        Cache products = cacheManager.getCache(CacheConfig.PRODUCTS);
+        Cache payloads = cacheManager.getCache(CacheConfig.PRODUCT_PAYLOADS);
+
+        productIds.forEach(productId -> {
+            products.evict(productId);
+            payloads.evict(productId);
+        });
+
+        eventPublisher.publishEvent(new ProductsChangedEvent(ChangeType.EXCLUIDO, productIds));
+
+        return deleted;
+    }
+
+    private String truncate(String message) {
+        return message == null || message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
@@ -0,0 +1,101 @@
+package ms.productService.services;
+
+import ms.productService.entity.Category;
+import ms.productService.repositories.CategoryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class CategoryNameResolver {
+
+    private record CachedId(Long id, long expiresAt) {}
+
+    private final Map<String, CachedId> idsByName = new ConcurrentHashMap<>();
+
+    private CategoryRepository categoryRepository;
+    private long ttlNanos;
+
+    public CategoryNameResolver(CategoryRepository categoryRepository,
+                                @Value("${product.category-resolver.ttl:60s}") Duration ttl) {
+        this.categoryRepository = categoryRepository;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        categoryRepository.findAll().forEach(category -> put(category.getName(), category.getId()));
+    }
+
+    public Optional<Long> resolve(String categoryName) {
+
+        if (categoryName == null) {
+            return Optional.empty();
+        }
+
+        CachedId cached = idsByName.get(categoryName);
+
+        if (cached != null && System.nanoTime() - cached.expiresAt() < 0) {
+            return Optional.of(cached.id());
+        }
+
+        // Unknown and expired names are read again, past the query cache, so categories another instance created,
+        // renamed or deleted are seen on first use or within the TTL.
+        Optional<Long> id = categoryRepository.findIdByName(categoryName);
+
+        id.ifPresentOrElse(found -> put(categoryName, found), () -> idsByName.remove(categoryName));
+
+        return id;
+    }
+
+    public void register(Category category) {
+        afterCommit(() -> put(category.getName(), category.getId()));
+    }
+
+    public void rename(Long id, String oldName, String newName) {
+        afterCommit(() -> {
+            forget(oldName, id);
+            put(newName, id);
+        });
+    }
+
+    public void remove(Long id, String name) {
+        afterCommit(() -> forget(name, id));
+    }
+
+    // For callers that found out the hard way, e.g. a foreign key violation, that the resolved id no longer exists.
+    public void forget(String name) {
+        idsByName.remove(name);
+    }
+
+    private void put(String name, Long id) {
+        idsByName.put(name, new CachedId(id, System.nanoTime() + ttlNanos));
+    }
+
+    private void forget(String name, Long id) {
+        idsByName.computeIfPresent(name, (key, cached) -> cached.id().equals(id) ? null : cached);
+    }
+
+    private void afterCommit(Runnable action) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,124 @@
+package ms.productService.services;
+
+import ms.productService.dtos.StatusProduct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+
+/**
+ * Keeps {@code tb_category.active_product_count} in step with the products written in the current transaction, so the
+ * category menu reads the counts instead of aggregating the product table. Changes are applied as deltas; the full
+ * recount only runs once at startup to repair whatever was written around this class.
+ */
+@Component
+public class CategoryProductCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryProductCounter.class);
+
+    private static final String ADJUST_COUNT = """
+            update tb_category
+            set active_product_count = active_product_count + ?
+            where id = ?
+            """;
+
+    private static final String LOCK_PRODUCTS = """
+            select id, category_id, status from tb_product
+            where id in (:ids)
+            order by id
+            for update
+            """;
+
+    private static final String RECOUNT = """
+            update tb_category c
+            set active_product_count = (
+                select count(*) from tb_product p where p.category_id = c.id and p.status = 'ATIVO')
+            """;
+
+    public record Placement(Long categoryId, StatusProduct status) {
+
+        boolean counts() {
+            return categoryId != null && status == StatusProduct.ATIVO;
+        }
+    }
+
+    private JdbcTemplate jdbcTemplate;
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public CategoryProductCounter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    public void created(Collection<Placement> placements) {
+
+        Map<Long, Long> deltas = new TreeMap<>();
+
+        placements.stream()
+                .filter(Placement::counts)
+                .forEach(placement -> deltas.merge(placement.categoryId(), 1L, Long::sum));
+
+        apply(deltas);
+    }
+
+    /**
+     * Locks the products about to change and moves each one's contribution from its current placement to the one
+     * returned by {@code target} ({@code null} when the product is being deleted). Must run in the writing
+     * transaction, before the products themselves are updated.
+     */
+    public void moving(Collection<Long> productIds, BiFunction<Long, Placement, Placement> target) {
+
+        if (productIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Long> deltas = new TreeMap<>();
+
+        namedParameterJdbcTemplate.query(LOCK_PRODUCTS, Map.of("ids", productIds), rs -> {
+            long id = rs.getLong("id");
+            Long categoryId = rs.getObject("category_id", Long.class);
+            String status = rs.getString("status");
+
+            var current = new Placement(categoryId, status != null ? StatusProduct.valueOf(status) : null);
+            var next = target.apply(id, current);
+
+            if (current.counts()) {
+                deltas.merge(current.categoryId(), -1L, Long::sum);
+            }
+            if (next != null && next.counts()) {
+                deltas.merge(next.categoryId(), 1L, Long::sum);
+            }
+        });
+
+        apply(deltas);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        int categories = jdbcTemplate.update(RECOUNT);
+        log.info("Contagem de produtos ativos recalculada para {} categorias.", categories);
+    }
+
+    // Categories are updated in id order so concurrent writers touching several of them cannot deadlock each other.
+    private void apply(Map<Long, Long> deltas) {
+
+        List<Object[]> updates = deltas.entrySet().stream()
+                .filter(delta -> !Objects.equals(delta.getValue(), 0L))
+                .map(delta -> new Object[]{delta.getValue(), delta.getKey()})
+                .toList();
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADJUST_COUNT, updates);
+        }
+    }
+}
@@ -1,33 +1,68 @@
 package ms.productService.services;
 
+import ms.productService.configs.CacheConfig;
+import ms.productService.configs.ReplicaRoutingDataSource;
+import ms.productService.dtos.CategoryDeletionDTO;
+import ms.productService.dtos.CategorySummaryDTO;
 import ms.productService.entity.Category;
+import ms.productService.events.CategoriesChangedEvent;
+import ms.productService.events.ChangeType;
+import ms.productService.events.ProductsChangedEvent;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import ms.productService.repositories.CategoryRepository;
+import ms.productService.repositories.ProductRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 public class CategoryService {
 
     private CategoryRepository categoryRepository;
-
-    public CategoryService(CategoryRepository categoryRepository) {
+    private ProductRepository productRepository;
+    private CacheManager cacheManager;
+    private CategoryNameResolver categoryNameResolver;
+    private ApplicationEventPublisher eventPublisher;
+    private CategoryDeletionService categoryDeletionService;
+    private int batchSize;
+
+    public CategoryService(CategoryRepository categoryRepository, ProductRepository productRepository,
+                           CacheManager cacheManager, CategoryNameResolver categoryNameResolver,
+                           ApplicationEventPublisher eventPublisher, CategoryDeletionService categoryDeletionService,
+                           @Value("${product.category-update.batch-size:1000}") int batchSize) {
         this.categoryRepository = categoryRepository;
+        this.productRepository = productRepository;
+        this.cacheManager = cacheManager;
+        this.categoryNameResolver = categoryNameResolver;
+        this.eventPublisher = eventPublisher;
+        this.categoryDeletionService = categoryDeletionService;
+        this.batchSize = batchSize;
     }
 
 
 
+    @Transactional
     public Category createCategory(Category catergory) {
 
         categoryRepository.save(catergory);
+        categoryNameResolver.register(catergory);
+        eventPublisher.publishEvent(new CategoriesChangedEvent(ChangeType.CRIADO, catergory.getId()));
 
         return ResponseEntity.status(HttpStatus.CREATED).body(catergory).getBody();
     }
 
+    @Transactional(readOnly = true)
     public List<Category> getAllCategory() {
         var categories = categoryRepository.findAll();
 
@@ -38,38 +73,78 @@ public class CategoryService {
         return categories;
     }
 
-    public Category getCategoryById(Long id) {
+    @Transactional(readOnly = true)
+    public List<CategorySummaryDTO> getCategorySummaries() {
+        var summaries = categoryRepository.findAllSummaries();
 
-        var category = categoryRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Nenhuma categoria com id correspondente."));
+        if (summaries.isEmpty()) {
+            throw new EntityNotFoundException("Nenhuma categoria foi encontrada.");
+        }
 
-        return category;
+        return summaries;
     }
 
-    public ResponseEntity<Void> deleteCategory(Long id) {
-
-        var category = categoryRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Categoria não encontrada."));
+    // The cached category is loaded from the primary, never from a lagging replica.
+    @Transactional(readOnly = true)
+    @Cacheable(value = CacheConfig.CATEGORIES, key = "#id")
+    public Category getCategoryById(Long id) {
+        return ReplicaRoutingDataSource.readingFromPrimary(() -> categoryRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Nenhuma categoria com id correspondente.")));
+    }
 
-        categoryRepository.deleteById(id);
+    public CategoryDeletionDTO deleteCategory(Long id) {
+        return categoryDeletionService.deleteCategory(id);
+    }
 
-        return ResponseEntity.ok().build();
+    public CategoryDeletionDTO getCategoryDeletion(Long deletionId) {
+        return categoryDeletionService.getDeletion(deletionId);
     }
 
+    @Transactional
+    @CachePut(value = CacheConfig.CATEGORIES, key = "#id")
     public Category updateCategory(Long id, Category categoryUpdate){
 
         var category = categoryRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Categoria não encontrada."));
 
+        String previousName = category.getName();
+
         category.setName(categoryUpdate.getName());
         category.setDescription(categoryUpdate.getDescription());
         category.setUpdateIn(LocalDateTime.now());
-        category.setProducts(categoryUpdate.getProducts());
+
+        if (!Objects.equals(previousName, categoryUpdate.getName())) {
+            evictProductsOf(id, ChangeType.ATUALIZADO);
+            categoryNameResolver.rename(id, previousName, categoryUpdate.getName());
+        }
+
+        eventPublisher.publishEvent(new CategoriesChangedEvent(ChangeType.ATUALIZADO, id));
 
         return category;
 
     }
 
-}
+    // Walks the category by id in chunks of batch-size so the event listeners never load more than one chunk at once.
+    // The products' representation carries the category name, so each chunk also gets a new version, and with it a
+    // new ETag.
+    private void evictProductsOf(Long categoryId, ChangeType type) {
+        var products = cacheManager.getCache(CacheConfig.PRODUCTS);
+        List<Long> productIds;
+        long afterId = 0;
+
+        do {
+            productIds = productRepository.findIdsByCategoryIdAfter(categoryId, afterId, Limit.of(batchSize));
+
+            if (productIds.isEmpty()) {
+                return;
+            }
+
+            productRepository.incrementVersionByCategory(categoryId, productIds.get(0), productIds.get(productIds.size() - 1));
+            productIds.forEach(products::evict);
+            eventPublisher.publishEvent(new ProductsChangedEvent(type, productIds));
+            afterId = productIds.get(productIds.size() - 1);
+        } while (productIds.size() == batchSize);
+    }
 
+}
 
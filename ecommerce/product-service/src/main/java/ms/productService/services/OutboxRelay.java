@@ -0,0 +1,128 @@
+package ms.productService.services;
+
+import ms.productService.configs.RabbitMQConfig;
+import ms.productService.entity.OutboxEvent;
+import ms.productService.repositories.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Publishes the outbox in batches of {@code batchSize} rows. Every instance runs the relay, so a batch is first
+ * claimed by a conditional update that only one of them wins; a claim left behind by an instance that died mid-batch
+ * is taken over once it has gone {@code stale-after} without the rows being deleted.
+ */
+@Service
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private OutboxEventRepository outboxEventRepository;
+    private RabbitTemplate rabbitTemplate;
+    private TransactionTemplate transactionTemplate;
+    private int batchSize;
+    private long confirmTimeout;
+    private Duration staleAfter;
+    private String owner = UUID.randomUUID().toString();
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, RabbitTemplate rabbitTemplate,
+                       TransactionTemplate transactionTemplate,
+                       @Value("${product.outbox.batch-size:500}") int batchSize,
+                       @Value("${product.outbox.confirm-timeout:5000}") long confirmTimeout,
+                       @Value("${product.outbox.stale-after:1m}") Duration staleAfter) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.confirmTimeout = confirmTimeout;
+        this.staleAfter = staleAfter;
+    }
+
+    @Scheduled(fixedDelayString = "${product.outbox.poll-interval:500}")
+    public void relay() {
+        try {
+            int relayed;
+
+            do {
+                relayed = relayBatch();
+            } while (relayed == batchSize);
+        } catch (AmqpException e) {
+            log.warn("Falha ao publicar eventos do outbox, nova tentativa no próximo ciclo: {}", e.getMessage());
+        }
+    }
+
+    public int relayBatch() {
+
+        List<OutboxEvent> events = claimBatch();
+
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = events.stream().map(OutboxEvent::getId).toList();
+
+        try {
+            // One channel for the whole batch and a single wait for all confirms, instead of a round trip per message.
+            rabbitTemplate.invoke(operations -> {
+                events.forEach(event -> operations.send(RabbitMQConfig.EXCHANGE_NAME, RabbitMQConfig.ROUTING_KEY, toMessage(event)));
+                operations.waitForConfirmsOrDie(confirmTimeout);
+                return null;
+            });
+        } catch (AmqpException e) {
+            transactionTemplate.executeWithoutResult(status -> outboxEventRepository.release(ids, owner));
+            throw e;
+        }
+
+        // Rows are removed only after the broker confirmed them, so delivery is at least once; consumers dedupe by message id.
+        outboxEventRepository.deleteAllByIdInBatch(ids);
+
+        return events.size();
+    }
+
+    // Commits the claim before publishing, so the other instances skip these rows while the batch is in flight.
+    private List<OutboxEvent> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime staleBefore = now.minus(staleAfter);
+            List<Long> ids = outboxEventRepository.findClaimableIds(staleBefore, Limit.of(batchSize));
+
+            if (ids.isEmpty() || outboxEventRepository.claim(ids, owner, now, staleBefore) == 0) {
+                return List.of();
+            }
+
+            return outboxEventRepository.findByIdInAndClaimedByOrderByIdAsc(ids, owner);
+        });
+    }
+
+    private Message toMessage(OutboxEvent event) {
+        return MessageBuilder.withBody(event.getPayload().getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setMessageId(event.getId().toString())
+                .setType(event.getAggregateType() + "." + event.getChangeType().name().toLowerCase())
+                .setTimestamp(Date.from(event.getCreatedIn().atZone(ZoneId.systemDefault()).toInstant()))
+                .setHeader("aggregateType", event.getAggregateType())
+                .setHeader("aggregateId", event.getAggregateId())
+                .setHeader("changeType", event.getChangeType().name())
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .build();
+    }
+}
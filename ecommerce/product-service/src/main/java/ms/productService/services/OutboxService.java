@@ -0,0 +1,97 @@
+package ms.productService.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ms.productService.events.CategoriesChangedEvent;
+import ms.productService.events.ChangeType;
+import ms.productService.events.ProductsChangedEvent;
+import ms.productService.repositories.CategoryRepository;
+import ms.productService.repositories.ProductRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class OutboxService {
+
+    public static final String PRODUCT = "product";
+    public static final String CATEGORY = "category";
+
+    private static final String INSERT_EVENT = """
+            insert into tb_outbox_event (aggregate_type, aggregate_id, change_type, payload, created_in)
+            values (?, ?, ?, ?, ?)
+            """;
+
+    private ProductRepository productRepository;
+    private CategoryRepository categoryRepository;
+    private JdbcTemplate jdbcTemplate;
+    private ObjectMapper objectMapper;
+
+    public OutboxService(ProductRepository productRepository, CategoryRepository categoryRepository,
+                         JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    // Runs synchronously inside the publisher's transaction so the change and its event commit together.
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onProductsChanged(ProductsChangedEvent event) {
+
+        if (event.productIds().isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows;
+
+        if (event.type() == ChangeType.EXCLUIDO) {
+            rows = event.productIds().stream()
+                    .map(id -> row(PRODUCT, id, event.type(), Map.of("id", id), now))
+                    .toList();
+        } else {
+            rows = productRepository.findAllResponsesByIdIn(event.productIds()).stream()
+                    .map(product -> row(PRODUCT, product.id(), event.type(), product, now))
+                    .toList();
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_EVENT, rows);
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onCategoriesChanged(CategoriesChangedEvent event) {
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Object payload = Map.of("id", event.categoryId());
+
+        if (event.type() != ChangeType.EXCLUIDO) {
+            var category = categoryRepository.findById(event.categoryId());
+
+            if (category.isEmpty()) {
+                return;
+            }
+
+            payload = category.get();
+        }
+
+        jdbcTemplate.update(INSERT_EVENT, row(CATEGORY, event.categoryId(), event.type(), payload, now));
+    }
+
+    private Object[] row(String aggregateType, Long aggregateId, ChangeType type, Object payload, Timestamp now) {
+        try {
+            return new Object[]{aggregateType, aggregateId, type.name(), objectMapper.writeValueAsString(payload), now};
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível serializar o evento.", e);
+        }
+    }
+}
@@ -0,0 +1,404 @@
+package ms.productService.services;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import ms.productService.configs.CacheConfig;
+import ms.productService.dtos.BulkImportReport;
+import ms.productService.dtos.BulkImportRowResult;
+import ms.productService.dtos.BulkPriceUpdateDTO;
+import ms.productService.dtos.BulkStatusUpdateDTO;
+import ms.productService.dtos.BulkUpdateReport;
+import ms.productService.dtos.ImportStatus;
+import ms.productService.dtos.ProductFeedUpdateDTO;
+import ms.productService.dtos.ProductRequestDTO;
+import ms.productService.dtos.StatusProduct;
+import ms.productService.events.ChangeType;
+import ms.productService.events.ProductsChangedEvent;
+import ms.productService.repositories.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+@Service
+public class ProductBulkService {
+
+    private static final String INSERT_PRODUCT = """
+            insert into tb_product (name, description, price, status, created_in, category_id)
+            values (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String UPDATE_FROM_FEED = """
+            update tb_product
+            set price = coalesce(?, price), status = coalesce(?, status), updated_in = ?, version = version + 1
+            where id = ?
+            """;
+
+    private record RepricedChunk(int size, int updated, long lastId) {}
+
+    private ProductRepository productRepository;
+    private CategoryNameResolver categoryNameResolver;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private CacheManager cacheManager;
+    private ApplicationEventPublisher eventPublisher;
+    private Validator validator;
+    private ObjectMapper objectMapper;
+    private CategoryProductCounter categoryProductCounter;
+    private int batchSize;
+
+    public ProductBulkService(ProductRepository productRepository, CategoryNameResolver categoryNameResolver,
+                              JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                              CacheManager cacheManager, ApplicationEventPublisher eventPublisher,
+                              Validator validator, ObjectMapper objectMapper,
+                              CategoryProductCounter categoryProductCounter,
+                              @Value("${product.bulk.batch-size:1000}") int batchSize) {
+        this.productRepository = productRepository;
+        this.categoryNameResolver = categoryNameResolver;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.categoryProductCounter = categoryProductCounter;
+        this.batchSize = batchSize;
+    }
+
+    public BulkImportReport importProducts(InputStream inputStream) {
+
+        long start = System.nanoTime();
+        List<BulkImportRowResult> results = new ArrayList<>();
+        Set<String> seenNames = new HashSet<>();
+        List<ProductRequestDTO> chunk = new ArrayList<>(batchSize);
+        int received = 0;
+        int chunkStart = 0;
+
+        try (MappingIterator<ProductRequestDTO> rows = objectMapper.readerFor(ProductRequestDTO.class)
+                .readValues(inputStream)) {
+
+            while (rows.hasNextValue()) {
+                if (chunk.isEmpty()) {
+                    chunkStart = received;
+                }
+
+                chunk.add(rows.nextValue());
+                received++;
+
+                if (chunk.size() == batchSize) {
+                    importChunk(chunk, chunkStart, seenNames, results);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            results.add(new BulkImportRowResult(received, null, null, ImportStatus.REJEITADO,
+                    "Conteúdo inválido; a importação foi interrompida neste registro."));
+            received++;
+        }
+
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, chunkStart, seenNames, results);
+        }
+
+        results.sort(Comparator.comparingInt(BulkImportRowResult::index));
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        int imported = (int) results.stream().filter(r -> r.status() == ImportStatus.IMPORTADO).count();
+
+        return new BulkImportReport(
+                received,
+                imported,
+                received - imported,
+                elapsedMillis,
+                elapsedMillis == 0 ? imported : imported * 1000.0 / elapsedMillis,
+                results
+        );
+    }
+
+    public BulkUpdateReport updateStatus(BulkStatusUpdateDTO dto) {
+
+        long start = System.nanoTime();
+        List<Long> ids = dto.ids().stream().filter(Objects::nonNull).distinct().toList();
+        LocalDateTime now = LocalDateTime.now();
+
+        int updated = updateInChunks(ids, chunk -> {
+            categoryProductCounter.moving(chunk,
+                    (id, current) -> new CategoryProductCounter.Placement(current.categoryId(), dto.status()));
+            return productRepository.updateStatus(chunk, dto.status(), now);
+        });
+
+        return new BulkUpdateReport(ids.size(), updated, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public BulkUpdateReport updatePrice(BulkPriceUpdateDTO dto) {
+
+        long start = System.nanoTime();
+
+        if (dto.categoryName() != null) {
+            var categoryId = categoryNameResolver.resolve(dto.categoryName())
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Categoria não encontrada."));
+
+            return updateCategoryPrice(categoryId, priceFactor(dto), start);
+        }
+
+        if (dto.ids() == null || dto.ids().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Informe os produtos ou a categoria.");
+        }
+
+        List<Long> ids = dto.ids().stream().filter(Objects::nonNull).distinct().toList();
+        BigDecimal factor = priceFactor(dto);
+        LocalDateTime now = LocalDateTime.now();
+
+        int updated = updateInChunks(ids, chunk -> productRepository.updatePrice(chunk, factor, now));
+
+        return new BulkUpdateReport(ids.size(), updated, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Returns the ids of the products actually updated; ids with no product behind them are left out.
+    public Set<Long> applyFeed(List<ProductFeedUpdateDTO> updates) {
+
+        if (updates.isEmpty()) {
+            return Set.of();
+        }
+
+        // Several messages for the same product in one batch collapse into a single row, newest value per field.
+        Map<Long, ProductFeedUpdateDTO> latest = new LinkedHashMap<>();
+        updates.forEach(update -> latest.merge(update.productId(), update, ProductFeedUpdateDTO::mergedWith));
+
+        List<ProductFeedUpdateDTO> rows = List.copyOf(latest.values());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Cache products = cacheManager.getCache(CacheConfig.PRODUCTS);
+
+        Map<Long, StatusProduct> statusChanges = rows.stream()
+                .filter(row -> row.status() != null)
+                .collect(Collectors.toMap(ProductFeedUpdateDTO::productId, ProductFeedUpdateDTO::status));
+
+        return transactionTemplate.execute(status -> {
+            categoryProductCounter.moving(statusChanges.keySet(), (id, current) ->
+                    new CategoryProductCounter.Placement(current.categoryId(), statusChanges.get(id)));
+
+            int[] counts = jdbcTemplate.batchUpdate(UPDATE_FROM_FEED, rows.stream()
+                    .map(row -> new Object[]{
+                            new SqlParameterValue(Types.DECIMAL, row.price()),
+                            new SqlParameterValue(Types.VARCHAR, row.status() != null ? row.status().name() : null),
+                            now,
+                            row.productId()})
+                    .toList());
+
+            Set<Long> updated = new LinkedHashSet<>(rows.size());
+
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] != 0) {
+                    updated.add(rows.get(i).productId());
+                }
+            }
+
+            updated.forEach(products::evict);
+            eventPublisher.publishEvent(new ProductsChangedEvent(ChangeType.ATUALIZADO, updated));
+
+            return updated;
+        });
+    }
+
+    /**
+     * Walks the category by id in chunks of batch-size. Each chunk reads only its own ids, for the cache eviction
+     * and the change event, and is repriced with a single range update instead of an IN list, so neither the
+     * memory nor the statement size grows with the category.
+     */
+    private BulkUpdateReport updateCategoryPrice(Long categoryId, BigDecimal factor, long start) {
+
+        Cache products = cacheManager.getCache(CacheConfig.PRODUCTS);
+        LocalDateTime now = LocalDateTime.now();
+        int requested = 0;
+        int updated = 0;
+        long afterId = 0;
+
+        RepricedChunk chunk;
+
+        do {
+            long after = afterId;
+
+            chunk = transactionTemplate.execute(status -> {
+                List<Long> ids = productRepository.findIdsByCategoryIdAfter(categoryId, after, Limit.of(batchSize));
+
+                if (ids.isEmpty()) {
+                    return new RepricedChunk(0, 0, after);
+                }
+
+                Long lastId = ids.get(ids.size() - 1);
+                int count = productRepository.updatePriceByCategory(categoryId, ids.get(0), lastId, factor, now);
+
+                ids.forEach(products::evict);
+                eventPublisher.publishEvent(new ProductsChangedEvent(ChangeType.ATUALIZADO, List.copyOf(ids)));
+
+                return new RepricedChunk(ids.size(), count, lastId);
+            });
+
+            requested += chunk.size();
+            updated += chunk.updated();
+            afterId = chunk.lastId();
+        } while (chunk.size() == batchSize);
+
+        return new BulkUpdateReport(requested, updated, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static BigDecimal priceFactor(BulkPriceUpdateDTO dto) {
+        return BigDecimal.ONE.add(dto.percentage().movePointLeft(2));
+    }
+
+    private int updateInChunks(List<Long> ids, ToIntFunction<List<Long>> update) {
+
+        Cache products = cacheManager.getCache(CacheConfig.PRODUCTS);
+        int updated = 0;
+
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+
+            updated += transactionTemplate.execute(status -> {
+                int count = update.applyAsInt(chunk);
+                chunk.forEach(products::evict);
+                eventPublisher.publishEvent(new ProductsChangedEvent(ChangeType.ATUALIZADO, List.copyOf(chunk)));
+                return count;
+            });
+        }
+
+        return updated;
+    }
+
+    private void importChunk(List<ProductRequestDTO> chunk, int firstIndex, Set<String> seenNames,
+                             List<BulkImportRowResult> results) {
+
+        Set<String> existingNames = productRepository.findExistingNames(chunk.stream()
+                .map(ProductRequestDTO::name)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+
+        List<Object[]> inserts = new ArrayList<>(chunk.size());
+        List<CategoryProductCounter.Placement> placements = new ArrayList<>(chunk.size());
+        List<BulkImportRowResult> accepted = new ArrayList<>(chunk.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        for (int i = 0; i < chunk.size(); i++) {
+            ProductRequestDTO dto = chunk.get(i);
+            int index = firstIndex + i;
+
+            String error = validate(dto);
+            Long categoryId = null;
+
+            if (error == null) {
+                categoryId = categoryNameResolver.resolve(dto.categoryName()).orElse(null);
+
+                if (categoryId == null) {
+                    error = "Categoria não encontrada.";
+                } else if (existingNames.contains(dto.name())) {
+                    error = "Produto já cadastrado.";
+                } else if (!seenNames.add(dto.name())) {
+                    error = "Produto duplicado na importação.";
+                }
+            }
+
+            if (error != null) {
+                results.add(new BulkImportRowResult(index, null, dto.name(), ImportStatus.REJEITADO, error));
+                continue;
+            }
+
+            inserts.add(new Object[]{dto.name(), dto.description(), dto.price(), dto.status().name(), now, categoryId});
+            placements.add(new CategoryProductCounter.Placement(categoryId, dto.status()));
+            accepted.add(new BulkImportRowResult(index, null, dto.name(), ImportStatus.IMPORTADO, null));
+        }
+
+        if (inserts.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> generatedIds = insertBatch(inserts);
+                categoryProductCounter.created(placements);
+                eventPublisher.publishEvent(new ProductsChangedEvent(ChangeType.CRIADO, generatedIds));
+                return generatedIds;
+            });
+
+            for (int i = 0; i < accepted.size(); i++) {
+                var row = accepted.get(i);
+                results.add(new BulkImportRowResult(row.index(), ids.get(i), row.name(), ImportStatus.IMPORTADO, null));
+            }
+        } catch (DataAccessException e) {
+            accepted.forEach(row -> results.add(new BulkImportRowResult(row.index(), null, row.name(),
+                    ImportStatus.REJEITADO, "Falha ao gravar o lote: " + e.getMostSpecificCause().getMessage())));
+        }
+    }
+
+    private List<Long> insertBatch(List<Object[]> inserts) {
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_PRODUCT, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        new ArgumentPreparedStatementSetter(inserts.get(i)).setValues(ps);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return inserts.size();
+                    }
+                },
+                keyHolder);
+
+        return keyHolder.getKeyList().stream()
+                .map(keys -> ((Number) keys.values().iterator().next()).longValue())
+                .toList();
+    }
+
+    private String validate(ProductRequestDTO dto) {
+
+        Set<ConstraintViolation<ProductRequestDTO>> violations = validator.validate(dto);
+
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(" "));
+    }
+}
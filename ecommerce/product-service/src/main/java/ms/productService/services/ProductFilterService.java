@@ -0,0 +1,227 @@
+package ms.productService.services;
+
+import ms.productService.dtos.*;
+import ms.productService.repositories.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+@Service
+public class ProductFilterService extends ProductIndex {
+
+    private record FacetCell(String category, StatusProduct status) {}
+
+    private record FacetEntry(FacetCell cell, BigDecimal price) {}
+
+    private record FilterCounts(ProductFacetsDTO facets, long total) {}
+
+    /**
+     * Prices of one (category, status) cell, with a running count per price-bounds bucket. Buckets entirely inside a
+     * queried range are read from those counts; only a range edge that falls inside a bucket walks that bucket's
+     * prices, so the price facets and ranges picked from them cost O(buckets).
+     */
+    private final class PriceHistogram {
+
+        private final NavigableMap<BigDecimal, Integer> prices = new TreeMap<>();
+        private final long[] buckets = new long[priceBounds.size() + 1];
+        private long total;
+
+        void add(BigDecimal price) {
+            prices.merge(price, 1, Integer::sum);
+            buckets[bucketOf(price)]++;
+            total++;
+        }
+
+        void remove(BigDecimal price) {
+            prices.computeIfPresent(price, (p, count) -> count == 1 ? null : count - 1);
+            buckets[bucketOf(price)]--;
+            total--;
+        }
+
+        boolean isEmpty() {
+            return total == 0;
+        }
+
+        long count(BigDecimal from, BigDecimal to, boolean toInclusive) {
+
+            if (from == null && to == null) {
+                return total;
+            }
+
+            if (from != null && to != null && from.compareTo(to) > 0) {
+                return 0;
+            }
+
+            int first = from == null ? 0 : bucketOf(from);
+            int last = to == null ? buckets.length - 1 : bucketOf(to);
+            long count = 0;
+
+            // An exclusive end on a bound leaves nothing of the bucket that bound opens.
+            if (to != null && !toInclusive && last > 0 && priceBounds.get(last - 1).compareTo(to) == 0) {
+                last--;
+            }
+
+            for (int i = first; i <= last; i++) {
+                BigDecimal low = i == 0 ? null : priceBounds.get(i - 1);
+                BigDecimal high = i == priceBounds.size() ? null : priceBounds.get(i);
+
+                boolean fromCovers = from == null || (low != null && low.compareTo(from) >= 0);
+                boolean toCovers = to == null || (high != null && high.compareTo(to) <= 0);
+
+                if (fromCovers && toCovers) {
+                    count += buckets[i];
+                } else if (buckets[i] > 0) {
+                    count += sum(fromCovers ? low : from, toCovers ? high : to, !toCovers && toInclusive);
+                }
+            }
+
+            return count;
+        }
+
+        private long sum(BigDecimal from, BigDecimal to, boolean toInclusive) {
+
+            NavigableMap<BigDecimal, Integer> range = prices;
+
+            if (from != null) {
+                range = range.tailMap(from, true);
+            }
+            if (to != null) {
+                range = range.headMap(to, toInclusive);
+            }
+
+            return range.values().stream().mapToLong(Integer::longValue).sum();
+        }
+    }
+
+    private final Map<FacetCell, PriceHistogram> cells = new HashMap<>();
+    private final Map<Long, FacetEntry> entries = new HashMap<>();
+
+    private ProductRepository productRepository;
+    private List<BigDecimal> priceBounds;
+
+    public ProductFilterService(ProductRepository productRepository,
+                                @Value("${product.facets.price-bounds:50,100,200,500}") List<BigDecimal> priceBounds) {
+        this.productRepository = productRepository;
+        this.priceBounds = priceBounds.stream().sorted().toList();
+    }
+
+    public ProductFilterResponse filterProducts(ProductFilterDTO filter, int page, int size) {
+
+        if (page < 0 || size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Página ou tamanho inválido.");
+        }
+
+        FilterCounts counts = read(() ->
+                new FilterCounts(facets(filter), count(filter, filter.minPrice(), filter.maxPrice(), true)));
+        long total = counts.total();
+
+        List<ProductResponseDTO> products = total == 0 ? List.of() : productRepository.findResponsesByFilter(filter,
+                PageRequest.of(page, size, Sort.by("name").descending()));
+
+        return new ProductFilterResponse(
+                new PaginatedResponse<>(products, page, size, total, (int) ((total + size - 1) / size)),
+                counts.facets()
+        );
+    }
+
+    private ProductFacetsDTO facets(ProductFilterDTO filter) {
+
+        // Each facet ignores its own selection, so the panel shows what picking another value would return.
+        Map<String, Long> categories = new TreeMap<>();
+        Map<StatusProduct, Long> statuses = new EnumMap<>(StatusProduct.class);
+
+        cells.forEach((cell, prices) -> {
+            boolean statusMatches = matchesStatus(filter, cell);
+            boolean categoryMatches = matchesCategory(filter, cell);
+
+            if (!statusMatches && !categoryMatches) {
+                return;
+            }
+
+            long count = prices.count(filter.minPrice(), filter.maxPrice(), true);
+
+            if (count > 0 && statusMatches) {
+                categories.merge(cell.category(), count, Long::sum);
+            }
+            if (count > 0 && categoryMatches) {
+                statuses.merge(cell.status(), count, Long::sum);
+            }
+        });
+
+        List<PriceRangeCount> priceRanges = new ArrayList<>();
+        BigDecimal from = null;
+
+        for (BigDecimal to : priceBounds) {
+            priceRanges.add(new PriceRangeCount(from, to, count(filter, from, to, false)));
+            from = to;
+        }
+        priceRanges.add(new PriceRangeCount(from, null, count(filter, from, null, false)));
+
+        return new ProductFacetsDTO(categories, statuses, priceRanges);
+    }
+
+    private long count(ProductFilterDTO filter, BigDecimal from, BigDecimal to, boolean toInclusive) {
+
+        long total = 0;
+
+        for (var cell : cells.entrySet()) {
+            if (matchesCategory(filter, cell.getKey()) && matchesStatus(filter, cell.getKey())) {
+                total += cell.getValue().count(from, to, toInclusive);
+            }
+        }
+
+        return total;
+    }
+
+    private boolean matchesCategory(ProductFilterDTO filter, FacetCell cell) {
+        return filter.categories() == null || filter.categories().isEmpty() || filter.categories().contains(cell.category());
+    }
+
+    private boolean matchesStatus(ProductFilterDTO filter, FacetCell cell) {
+        return filter.statuses() == null || filter.statuses().isEmpty() || filter.statuses().contains(cell.status());
+    }
+
+    // Bucket i holds prices in [bound(i - 1), bound(i)), open-ended below the first bound and above the last.
+    private int bucketOf(BigDecimal price) {
+        int index = Collections.binarySearch(priceBounds, price);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    @Override
+    protected void clear() {
+        cells.clear();
+        entries.clear();
+    }
+
+    @Override
+    protected void add(ProductResponseDTO product) {
+
+        var entry = new FacetEntry(new FacetCell(product.categoryName(), product.status()), product.price());
+
+        entries.put(product.id(), entry);
+        cells.computeIfAbsent(entry.cell(), cell -> new PriceHistogram()).add(entry.price());
+    }
+
+    @Override
+    protected void remove(Long id) {
+
+        var entry = entries.remove(id);
+
+        if (entry == null) {
+            return;
+        }
+
+        var prices = cells.get(entry.cell());
+        prices.remove(entry.price());
+
+        if (prices.isEmpty()) {
+            cells.remove(entry.cell());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package ms.productService.services;
+
+import ms.productService.dtos.ProductResponseDTO;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * In-memory view of the catalog kept current by {@link ProductIndexLoader}. Subclasses only say how a product is
+ * added and removed; loading, locking and applying changes live here.
+ */
+public abstract class ProductIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    protected abstract void clear();
+
+    protected abstract void add(ProductResponseDTO product);
+
+    protected abstract void remove(Long id);
+
+    void replaceAll(Stream<ProductResponseDTO> products) {
+        lock.writeLock().lock();
+        try {
+            clear();
+            products.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Ids missing from the changed products were deleted; the rest are re-added with their current state.
+    void apply(Collection<Long> ids, List<ProductResponseDTO> changed) {
+        lock.writeLock().lock();
+        try {
+            ids.forEach(this::remove);
+            changed.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    protected <T> T read(Supplier<T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package ms.productService.services;
+
+import ms.productService.dtos.ProductResponseDTO;
+import ms.productService.events.ProductsChangedEvent;
+import ms.productService.repositories.ProductRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@Component
+public class ProductIndexLoader {
+
+    private ProductRepository productRepository;
+    private List<ProductIndex> indexes;
+
+    public ProductIndexLoader(ProductRepository productRepository, List<ProductIndex> indexes) {
+        this.productRepository = productRepository;
+        this.indexes = indexes;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        for (ProductIndex index : indexes) {
+            try (Stream<ProductResponseDTO> products = productRepository.streamAllResponses()) {
+                index.replaceAll(products);
+            }
+        }
+    }
+
+    // Runs after commit on the committing transaction's own connection; a REQUIRES_NEW here would take a second
+    // connection per writer and deadlock the pool under concurrent writes. One read serves every index.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsChanged(ProductsChangedEvent event) {
+
+        List<ProductResponseDTO> changed = productRepository.findAllResponsesByIdIn(event.productIds());
+
+        indexes.forEach(index -> index.apply(event.productIds(), changed));
+    }
+}
@@ -0,0 +1,73 @@
+package ms.productService.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ms.productService.configs.CacheConfig;
+import ms.productService.dtos.ProductResponseDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Product detail bodies kept as the bytes that go on the wire. Each entry remembers the version (ETag) it was
+ * serialized from, so a stale entry is rebuilt instead of served even when an update path does not evict it.
+ */
+@Service
+public class ProductPayloadCache {
+
+    public record ProductPayload(String version, byte[] json, byte[] gzip) {}
+
+    private Cache payloads;
+    private ObjectMapper objectMapper;
+    private int compressionThreshold;
+
+    public ProductPayloadCache(CacheManager cacheManager, ObjectMapper objectMapper,
+                               @Value("${product.payload-cache.compression-threshold:1024}") int compressionThreshold) {
+        this.payloads = cacheManager.getCache(CacheConfig.PRODUCT_PAYLOADS);
+        this.objectMapper = objectMapper;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    public ProductPayload payloadOf(ProductResponseDTO product, String version) {
+
+        ProductPayload cached = payloads.get(product.id(), ProductPayload.class);
+
+        if (cached != null && cached.version().equals(version)) {
+            return cached;
+        }
+
+        ProductPayload payload = serialize(product, version);
+        payloads.put(product.id(), payload);
+
+        return payload;
+    }
+
+    private ProductPayload serialize(ProductResponseDTO product, String version) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(product);
+            byte[] gzip = json.length >= compressionThreshold ? gzip(json) : null;
+
+            return new ProductPayload(version, json, gzip);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        var bytes = new ByteArrayOutputStream(json.length / 2);
+
+        try (var out = new GZIPOutputStream(bytes)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return bytes.toByteArray();
+    }
+}
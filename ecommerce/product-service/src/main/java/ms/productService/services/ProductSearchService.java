@@ -0,0 +1,145 @@
+package ms.productService.services;
+
+import ms.productService.dtos.ProductResponseDTO;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.regex.Pattern;
+
+@Service
+public class ProductSearchService extends ProductIndex {
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int MAX_LIMIT = 100;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "o", "as", "os", "e", "de", "da", "do", "das", "dos", "em", "na", "no", "nas", "nos",
+            "um", "uma", "com", "para", "por", "que", "se", "ao", "aos");
+
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, IndexedProduct> documents = new HashMap<>();
+
+    private record IndexedProduct(ProductResponseDTO product, Map<String, Integer> terms) {}
+
+    private record ScoredProduct(ProductResponseDTO product, double score) {}
+
+    public List<ProductResponseDTO> search(String query, int limit) {
+
+        List<String> terms = tokenize(query).stream().distinct().toList();
+
+        if (terms.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Informe um termo de busca.");
+        }
+
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        return read(() -> {
+            Map<Long, Double> scores = null;
+
+            for (int i = 0; i < terms.size(); i++) {
+                // The last term is matched as a prefix so partially typed words still find results.
+                boolean prefix = i == terms.size() - 1;
+                Map<Long, Double> termScores = score(terms.get(i), prefix);
+
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            return scores.entrySet().stream()
+                    .map(e -> new ScoredProduct(documents.get(e.getKey()).product(), e.getValue()))
+                    .sorted(Comparator.comparingDouble(ScoredProduct::score).reversed()
+                            .thenComparing(s -> s.product().name()))
+                    .limit(size)
+                    .map(ScoredProduct::product)
+                    .toList();
+        });
+    }
+
+    public int size() {
+        return read(documents::size);
+    }
+
+    private Map<Long, Double> score(String term, boolean prefix) {
+
+        Map<String, Map<Long, Integer>> matches = prefix
+                ? postings.subMap(term, true, term + Character.MAX_VALUE, false)
+                : postings.containsKey(term) ? Map.of(term, postings.get(term)) : Map.of();
+
+        Map<Long, Double> scores = new HashMap<>();
+
+        matches.forEach((matched, frequencies) -> {
+            double idf = Math.log(1.0 + (double) documents.size() / frequencies.size());
+            // Exact matches rank above words that only share the prefix.
+            double boost = matched.equals(term) ? 1.0 : 0.5;
+
+            frequencies.forEach((id, frequency) -> scores.merge(id, frequency * idf * boost, Math::max));
+        });
+
+        return scores;
+    }
+
+    @Override
+    protected void clear() {
+        postings.clear();
+        documents.clear();
+    }
+
+    @Override
+    protected void add(ProductResponseDTO product) {
+
+        Map<String, Integer> terms = new HashMap<>();
+        tokenize(product.name()).forEach(term -> terms.merge(term, NAME_WEIGHT, Integer::sum));
+        tokenize(product.description()).forEach(term -> terms.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+
+        documents.put(product.id(), new IndexedProduct(product, terms));
+        terms.forEach((term, frequency) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(product.id(), frequency));
+    }
+
+    @Override
+    protected void remove(Long id) {
+
+        IndexedProduct indexed = documents.remove(id);
+
+        if (indexed == null) {
+            return;
+        }
+
+        indexed.terms().keySet().forEach(term -> {
+            Map<Long, Integer> frequencies = postings.get(term);
+            frequencies.remove(id);
+
+            if (frequencies.isEmpty()) {
+                postings.remove(term);
+            }
+        });
+    }
+
+    static List<String> tokenize(String text) {
+
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+
+        return Arrays.stream(SEPARATORS.split(folded))
+                .filter(token -> !token.isEmpty() && !STOP_WORDS.contains(token))
+                .toList();
+    }
+}
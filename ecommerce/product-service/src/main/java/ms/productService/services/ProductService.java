@@ -1,35 +1,83 @@
 package ms.productService.services;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ms.productService.configs.CacheConfig;
+import ms.productService.configs.ReplicaRoutingDataSource;
 import ms.productService.dtos.PaginatedResponse;
+import ms.productService.dtos.ProductCursor;
+import ms.productService.dtos.ProductLookupResult;
 import ms.productService.dtos.ProductRequestDTO;
 import ms.productService.dtos.ProductResponseDTO;
+import ms.productService.dtos.ResourceValidator;
 import ms.productService.entity.Product;
+import ms.productService.events.ProductsChangedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 import ms.productService.repositories.CategoryRepository;
 import ms.productService.repositories.ProductRepository;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 public class ProductService {
 
+    public static final int MAX_LOOKUP_IDS = 100;
+    public static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    // Parent row missing on a foreign key: MySQL ER_NO_REFERENCED_ROW_2 and H2 REFERENTIAL_INTEGRITY_VIOLATED_PARENT_MISSING.
+    private static final Set<Integer> MISSING_CATEGORY_ERROR_CODES = Set.of(1452, 23506);
+
     private ProductRepository productRepository;
     private CategoryRepository categoryRepository;
-
-    public ProductService(ProductRepository productRepository, CategoryRepository categoryRepository) {
+    private CategoryNameResolver categoryNameResolver;
+    private ApplicationEventPublisher eventPublisher;
+    private ObjectMapper objectMapper;
+    private CategoryProductCounter categoryProductCounter;
+    private CacheManager cacheManager;
+
+    public ProductService(ProductRepository productRepository, CategoryRepository categoryRepository,
+                          CategoryNameResolver categoryNameResolver, ApplicationEventPublisher eventPublisher,
+                          ObjectMapper objectMapper, CategoryProductCounter categoryProductCounter,
+                          CacheManager cacheManager) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
+        this.categoryNameResolver = categoryNameResolver;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.categoryProductCounter = categoryProductCounter;
+        this.cacheManager = cacheManager;
     }
 
+    @Transactional
     public ResponseEntity<Void> createProduct(ProductRequestDTO dto) {
 
         var product = new Product();
@@ -39,130 +87,259 @@ public class ProductService {
         product.setStatus(dto.status());
         product.setCreatedIn(LocalDateTime.now());
 
-        var category = categoryRepository.findByName(dto.categoryName())
+        var categoryId = categoryNameResolver.resolve(dto.categoryName())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
 
-        product.setCategory(category);
-        productRepository.save(product);
+        product.setCategory(categoryRepository.getReferenceById(categoryId));
+        Product saved;
+
+        try {
+            saved = productRepository.save(product);
+        } catch (DataIntegrityViolationException e) {
+            throw categoryGone(dto.categoryName(), e);
+        }
+
+        categoryProductCounter.created(List.of(new CategoryProductCounter.Placement(categoryId, dto.status())));
+        eventPublisher.publishEvent(ProductsChangedEvent.created(saved.getId()));
 
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
+    // What is loaded here gets cached, so it must come from the primary rather than a replica that may lag.
+    @Transactional(readOnly = true)
+    @Cacheable(value = CacheConfig.PRODUCTS, key = "#id")
     public ProductResponseDTO getProductById(Long id) {
-        var product = productRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Produto não encontrado"));
-
-        return new ProductResponseDTO(
-                product.getName(),
-                product.getDescription(),
-                product.getPrice(),
-                product.getStatus(),
-                product.getCreatedIn(),
-                product.getUpdatedIn(),
-                product.getCategory().getName()
-        );
+        return ReplicaRoutingDataSource.readingFromPrimary(() -> {
+            var product = productRepository.findById(id)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Produto não encontrado"));
+
+            return ProductResponseDTO.from(product);
+        });
+    }
+
+    /**
+     * Looks the ids up in the product cache first and loads the misses with a single query, caching them as
+     * {@link #getProductById(Long)} would. Results follow the request order, duplicates included. Like that method it
+     * reads from the primary, since the misses end up in the cache.
+     */
+    @Transactional(readOnly = true)
+    public List<ProductLookupResult> getProductsByIds(List<Long> ids) {
+
+        if (ids == null || ids.isEmpty() || ids.stream().anyMatch(Objects::isNull)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Informe os ids dos produtos.");
+        }
+
+        if (ids.size() > MAX_LOOKUP_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Informe no máximo " + MAX_LOOKUP_IDS + " ids por consulta.");
+        }
+
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS);
+        Map<Long, ProductResponseDTO> products = new HashMap<>();
+        Set<Long> misses = new LinkedHashSet<>();
+
+        for (Long id : ids) {
+            var cached = cache.get(id, ProductResponseDTO.class);
+
+            if (cached != null) {
+                products.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            var loaded = ReplicaRoutingDataSource.readingFromPrimary(() -> productRepository.findAllResponsesByIdIn(misses));
+
+            loaded.forEach(product -> {
+                products.put(product.id(), product);
+                cache.put(product.id(), product);
+            });
+        }
+
+        return ids.stream()
+                .map(id -> products.containsKey(id)
+                        ? ProductLookupResult.found(products.get(id))
+                        : ProductLookupResult.notFound(id))
+                .toList();
     }
 
+    @Transactional(readOnly = true)
     public List<ProductResponseDTO> findAllProducts() {
 
-        List<Product> products = productRepository.findAll();
+        List<ProductResponseDTO> products = productRepository.findAllResponses();
 
         if (products.isEmpty()) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Nenhum produto encontrado.");
         }
 
-        return products.stream()
-                .map(p -> new ProductResponseDTO(
-                        p.getName(),
-                        p.getDescription(),
-                        p.getPrice(),
-                        p.getStatus(),
-                        p.getUpdatedIn(),
-                        p.getCreatedIn(),
-                        p.getCategory().toString()
-                )).toList();
+        return products;
     }
 
+    @Transactional(readOnly = true)
     public List<ProductResponseDTO> findAllProductsByCategory(String categoryName) {
 
-        List<Product> products = productRepository.findAll();
+        List<ProductResponseDTO> products = productRepository.findAllResponsesByCategoryName(categoryName);
 
         if (products.isEmpty()) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Nenhum produto encontrado.");
         }
 
-        return products
-                .stream()
-                .filter(p -> p.getCategory().getName().equals(categoryName))
-                .map(p -> new ProductResponseDTO(
-                        p.getName(),
-                        p.getDescription(),
-                        p.getPrice(),
-                        p.getStatus(),
-                        p.getUpdatedIn(),
-                        p.getCreatedIn(),
-                        p.getCategory().toString()
-                )).collect(Collectors.toList());
+        return products;
     }
 
+    @Transactional(readOnly = true)
     public PaginatedResponse<ProductResponseDTO> getPaginationProducts(int page, int size) {
 
-        Page<Product> pagedResult = productRepository.findAll(PageRequest.of(page, size, Sort.by("name").descending()));
+        Page<ProductResponseDTO> pagedResult = productRepository.findAllResponses(
+                PageRequest.of(page, size, Sort.by("name").descending()));
+
+        return toPaginatedResponse(pagedResult);
+    }
+
+    @Transactional(readOnly = true)
+    public PaginatedResponse<ProductResponseDTO> getPaginationProductsByCategory(String categoryName, int page, int size) {
+
+        Page<ProductResponseDTO> pagedResult = productRepository.findAllResponsesByCategoryName(categoryName,
+                PageRequest.of(page, size, Sort.by("name").descending()));
+
+        return toPaginatedResponse(pagedResult);
+    }
+
+    @Transactional(readOnly = true)
+    public PaginatedResponse<ProductResponseDTO> getProductsAfterCursor(String cursor, int size) {
+
+        if (size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O tamanho da página deve ser maior que zero.");
+        }
+
+        if (size > MAX_CURSOR_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "O tamanho da página deve ser no máximo " + MAX_CURSOR_PAGE_SIZE + ".");
+        }
+
+        Limit limit = Limit.of(size + 1);
+        List<ProductResponseDTO> products;
+
+        if (cursor == null || cursor.isBlank()) {
+            products = productRepository.findFirstResponses(limit);
+        } else {
+            var after = ProductCursor.decode(cursor);
+            products = productRepository.findResponsesAfter(after.name(), after.id(), limit);
+        }
+
+        String nextCursor = null;
+
+        if (products.size() > size) {
+            products = products.subList(0, size);
+            nextCursor = ProductCursor.of(products.get(size - 1)).encode();
+        }
+
+        return new PaginatedResponse<>(products, size, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportProducts(OutputStream outputStream) throws IOException {
 
-        List<ProductResponseDTO> products = pagedResult.getContent()
-                .stream()
-                .map(p -> new ProductResponseDTO(
-                p.getName(),
-                p.getDescription(),
-                p.getPrice(),
-                p.getStatus(),
-                p.getUpdatedIn(),
-                p.getCreatedIn(),
-                p.getCategory().toString()
-        )).collect(Collectors.toList());
+        try (Stream<ProductResponseDTO> products = productRepository.streamAllResponses();
+             JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
 
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
 
+            Iterator<ProductResponseDTO> iterator = products.iterator();
 
+            while (iterator.hasNext()) {
+                objectMapper.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private PaginatedResponse<ProductResponseDTO> toPaginatedResponse(Page<ProductResponseDTO> pagedResult) {
         return new PaginatedResponse<> (
-                products,
+                pagedResult.getContent(),
                 pagedResult.getNumber(),
                 pagedResult.getSize(),
                 pagedResult.getTotalElements(),
                 pagedResult.getTotalPages()
         );
-
     }
 
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.PRODUCTS, key = "#id"),
+            @CacheEvict(value = CacheConfig.PRODUCT_PAYLOADS, key = "#id")})
     public ResponseEntity<Void> deleteProduct(Long id){
 
         var product = productRepository.findById(id).orElseThrow(() ->
                 new ResponseStatusException(HttpStatus.NOT_FOUND, "Produto não encontrado."));
 
+        categoryProductCounter.moving(List.of(id), (productId, current) -> null);
         productRepository.deleteById(id);
+        eventPublisher.publishEvent(ProductsChangedEvent.deleted(id));
 
         return ResponseEntity.noContent().build();
 
     }
 
-    public ResponseEntity<Optional<Product>> updateProduct(Long id, ProductRequestDTO dto) {
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.PRODUCTS, key = "#id"),
+            @CacheEvict(value = CacheConfig.PRODUCT_PAYLOADS, key = "#id")})
+    public ProductResponseDTO updateProduct(Long id, ProductRequestDTO dto, String ifMatch) {
+
+        var product = productRepository.findWithCategoryById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Produto não encontrado."));
+
+        if (ifMatch != null && !matches(ifMatch, ResourceValidator.of(ProductResponseDTO.from(product)))) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "O produto foi alterado desde a última leitura.");
+        }
 
-        var product = productRepository.findById((id))
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST)
-                );
+        var categoryId = categoryNameResolver.resolve(dto.categoryName())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Categoria não encontrada."));
 
-        var category = categoryRepository.findByName(dto.categoryName());
+        categoryProductCounter.moving(List.of(id),
+                (productId, current) -> new CategoryProductCounter.Placement(categoryId, dto.status()));
 
         product.setName(dto.name());
         product.setPrice(dto.price());
         product.setStatus(dto.status());
-        product.setCategory(category.get());
+        product.setCategory(categoryRepository.getReferenceById(categoryId));
         product.setDescription(dto.description());
-        product.setUpdatedIn(LocalDateTime.now());
+        // Truncated to what the database keeps, so the returned Last-Modified matches the one later reads produce.
+        product.setUpdatedIn(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+
+        try {
+            productRepository.saveAndFlush(product);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "O produto foi alterado por outra requisição.", e);
+        } catch (DataIntegrityViolationException e) {
+            throw categoryGone(dto.categoryName(), e);
+        }
+
+        eventPublisher.publishEvent(ProductsChangedEvent.updated(id));
+
+        return ProductResponseDTO.from(product);
+    }
 
+    // The resolver may still hold the id of a category another instance deleted; the foreign key then rejects the row.
+    private RuntimeException categoryGone(String categoryName, DataIntegrityViolationException e) {
 
-        Optional<Product> productAtualizado = productRepository.findById((id));
+        if (!(e.getMostSpecificCause() instanceof SQLException sqlException)
+                || !MISSING_CATEGORY_ERROR_CODES.contains(sqlException.getErrorCode())) {
+            return e;
+        }
+
+        categoryNameResolver.forget(categoryName);
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Categoria não encontrada.", e);
+    }
 
-        return ResponseEntity.ok(productAtualizado);
+    // A tag taken from a gzip response names the same product version, so either tag satisfies If-Match.
+    private static boolean matches(String ifMatch, ResourceValidator validator) {
+        return Arrays.stream(ifMatch.split(","))
+                .map(String::trim)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(validator.eTag()) || tag.equals(validator.gzipETag()));
     }
 
 
@@ -0,0 +1,72 @@
+package ms.productService;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = ProductApiApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:virtual-threads;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.rabbitmq.listener.simple.auto-startup=false",
+        "product.outbox.poll-interval=3600000"})
+@ActiveProfiles("virtual-threads")
+public class VirtualThreadsProfileTest {
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private HikariDataSource dataSource;
+
+    @Autowired
+    private WebServerApplicationContext context;
+
+    @Test
+    @DisplayName("Deve ativar virtual threads a partir do Java 21 com o perfil virtual-threads")
+    void deveAtivarVirtualThreadsComOPerfil() {
+
+        assertThat(environment.getProperty("spring.threads.virtual.enabled", Boolean.class)).isTrue();
+        // Spring Boot only switches executors on a runtime that has virtual threads; on Java 17 the profile is inert.
+        assertThat(Threading.VIRTUAL.isActive(environment)).isEqualTo(Runtime.version().feature() >= 21);
+
+        if (Threading.VIRTUAL.isActive(environment)) {
+            assertThat(protocol().getExecutor()).isInstanceOf(VirtualThreadExecutor.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve dimensionar o pool de conexões para as requisições que passam a esperar por ele")
+    void deveDimensionarPoolDeConexoes() {
+
+        assertThat(dataSource.getMaximumPoolSize()).isEqualTo(40);
+        assertThat(dataSource.getMinimumIdle()).isEqualTo(40);
+        assertThat(dataSource.getConnectionTimeout()).isEqualTo(2_000);
+    }
+
+    @Test
+    @DisplayName("Deve aceitar mais conexões no Tomcat com o perfil virtual-threads")
+    void deveAceitarMaisConexoesNoTomcat() {
+
+        assertThat(protocol().getMaxConnections()).isEqualTo(10_000);
+        assertThat(protocol().getAcceptCount()).isEqualTo(1_000);
+    }
+
+    private AbstractProtocol<?> protocol() {
+        var tomcat = ((TomcatWebServer) context.getWebServer()).getTomcat();
+        return (AbstractProtocol<?>) tomcat.getConnector().getProtocolHandler();
+    }
+}
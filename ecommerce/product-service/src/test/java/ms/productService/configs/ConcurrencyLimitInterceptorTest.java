@@ -0,0 +1,108 @@
+package ms.productService.configs;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConcurrencyLimitInterceptorTest {
+
+    static class Endpoints {
+        public void export() {}
+        public void findById() {}
+    }
+
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Deve rejeitar com 503 o excesso no endpoint caro sem afetar o endpoint barato")
+    void deveRejeitarExcessoSemAfetarEndpointBarato() throws Exception {
+
+        var properties = new ConcurrencyLimitProperties();
+        var export = new ConcurrencyLimitProperties.Limits();
+        export.setMaxLimit(1);
+        export.setMinLimit(1);
+        export.setQueueSize(0);
+        properties.getEndpoints().put("Endpoints.export", export);
+
+        var interceptor = new ConcurrencyLimitInterceptor(properties, meterRegistry);
+        var exportHandler = new HandlerMethod(new Endpoints(), Endpoints.class.getMethod("export"));
+        var findHandler = new HandlerMethod(new Endpoints(), Endpoints.class.getMethod("findById"));
+
+        var running = new MockHttpServletRequest("GET", "/product/export");
+        assertThat(interceptor.preHandle(running, new MockHttpServletResponse(), exportHandler)).isTrue();
+
+        var excessResponse = new MockHttpServletResponse();
+        assertThatThrownBy(() -> interceptor.preHandle(new MockHttpServletRequest("GET", "/product/export"), excessResponse, exportHandler))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("503");
+        assertThat(excessResponse.getHeader("Retry-After")).isEqualTo("1");
+
+        assertThat(interceptor.preHandle(new MockHttpServletRequest("GET", "/product/1"), new MockHttpServletResponse(), findHandler)).isTrue();
+
+        interceptor.afterCompletion(running, new MockHttpServletResponse(), exportHandler, null);
+        assertThat(interceptor.preHandle(new MockHttpServletRequest("GET", "/product/export"), new MockHttpServletResponse(), exportHandler)).isTrue();
+
+        assertThat(meterRegistry.get("http.server.concurrency.requests").tag("endpoint", "Endpoints.export").tag("result", "admitted").counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("http.server.concurrency.requests").tag("endpoint", "Endpoints.export").tag("result", "rejected").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("http.server.concurrency.requests").tag("endpoint", "Endpoints.findById").tag("result", "admitted").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve admitir a requisição em fila quando uma vaga é liberada")
+    void deveAdmitirRequisicaoEmFilaAoLiberarVaga() throws Exception {
+
+        var limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 1, Duration.ofSeconds(5));
+
+        assertThat(limiter.acquire()).isEqualTo(AdaptiveConcurrencyLimiter.Admission.ADMITTED);
+
+        var queued = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limiter.acquire();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        while (limiter.getWaiting() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThat(limiter.acquire()).isEqualTo(AdaptiveConcurrencyLimiter.Admission.REJECTED);
+
+        limiter.release(1_000_000, 1, false);
+
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo(AdaptiveConcurrencyLimiter.Admission.QUEUED);
+    }
+
+    @Test
+    @DisplayName("Deve reduzir o limite quando a latência sobe sob saturação e aumentá-lo quando se mantém estável")
+    void deveAjustarLimitePelaLatencia() throws InterruptedException {
+
+        var limiter = new AdaptiveConcurrencyLimiter(20, 2, 100, 0, Duration.ZERO);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.acquire();
+            limiter.release(10_000_000, 20, false);
+        }
+        int steady = limiter.getLimit();
+
+        for (int i = 0; i < 50; i++) {
+            limiter.acquire();
+            limiter.release(80_000_000, steady, false);
+        }
+
+        assertThat(steady).isGreaterThan(20);
+        assertThat(limiter.getLimit()).isLessThan(steady / 2);
+    }
+}
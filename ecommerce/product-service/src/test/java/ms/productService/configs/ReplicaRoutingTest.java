@@ -0,0 +1,205 @@
+package ms.productService.configs;
+
+import ms.productService.ProductApiApplication;
+import ms.productService.dtos.ProductLookupResult;
+import ms.productService.dtos.ProductRequestDTO;
+import ms.productService.dtos.StatusProduct;
+import ms.productService.entity.Category;
+import ms.productService.services.CategoryService;
+import ms.productService.services.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(classes = ProductApiApplication.class, webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.rabbitmq.listener.simple.auto-startup=false",
+        "product.outbox.poll-interval=3600000",
+        "product.datasource.replica-urls=jdbc:h2:mem:routing-replica;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "product.datasource.replica-max-lag=1s",
+        "product.datasource.replica-check-interval=3600000"})
+public class ReplicaRoutingTest {
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private ReplicaMonitor replicaMonitor;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        primary = new JdbcTemplate(routingDataSource.getPrimary());
+        replica = new JdbcTemplate(routingDataSource.getReplicas().get(0).getDataSource());
+
+        primary.update("delete from tb_outbox_event");
+        primary.update("delete from tb_product");
+        primary.update("delete from tb_category");
+        primary.update("insert into tb_category (name, created_in) values ('Livros', current_timestamp)");
+        categoryId = primary.queryForObject("select id from tb_category where name = 'Livros'", Long.class);
+        inserirProduto("Livro replicado");
+
+        // Beats first so the replicated heartbeat is fresh whatever the previous test took.
+        replicaMonitor.check();
+        replicar();
+        replicaMonitor.check();
+
+        // Lets the read-your-writes window from the setup above expire on this thread.
+        Thread.sleep(1_100);
+    }
+
+    @Test
+    @DisplayName("Deve servir leituras somente-leitura pela réplica saudável")
+    void deveLerDaReplicaSaudavel() {
+
+        inserirProduto("Livro ainda não replicado");
+
+        assertThat(routingDataSource.getReplicas().get(0).isHealthy()).isTrue();
+        assertThat(productService.getPaginationProducts(0, 10).getTotalElements()).isEqualTo(1L);
+        assertThat(categoryService.getAllCategory()).extracting(Category::getName).containsExactly("Livros");
+    }
+
+    @Test
+    @DisplayName("Deve carregar pelo primário as leituras que populam o cache")
+    void deveCarregarDoPrimarioLeiturasEmCache() {
+
+        inserirProduto("Livro ainda não replicado");
+        inserirProduto("Outro livro ainda não replicado");
+        Long productId = idDoProduto("Livro ainda não replicado");
+        Long otherProductId = idDoProduto("Outro livro ainda não replicado");
+
+        assertThat(routingDataSource.getReplicas().get(0).isHealthy()).isTrue();
+        assertThat(productService.getProductById(productId).name()).isEqualTo("Livro ainda não replicado");
+        assertThat(productService.getProductsByIds(List.of(otherProductId)))
+                .extracting(ProductLookupResult::found).containsExactly(true);
+        assertThat(categoryService.getCategoryById(categoryId).getName()).isEqualTo("Livros");
+    }
+
+    @Test
+    @DisplayName("Deve continuar lendo da réplica após leituras pelo primário ou transações que não escreveram")
+    void deveContinuarNaReplicaSemEscrita() {
+
+        inserirProduto("Livro ainda não replicado");
+        Long productId = idDoProduto("Livro ainda não replicado");
+
+        productService.getProductById(productId);
+        categoryService.getCategoryById(categoryId);
+        Long total = transactionTemplate.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("select count(*) from tb_product", Long.class));
+
+        assertThat(total).isEqualTo(2L);
+        assertThat(productService.getPaginationProducts(0, 10).getTotalElements()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Deve ler do primário logo após uma escrita na mesma thread")
+    void deveLerDoPrimarioAposEscrita() {
+
+        productService.createProduct(new ProductRequestDTO("Livro novo", null, BigDecimal.TEN, StatusProduct.ATIVO, "Livros"));
+
+        assertThat(productService.getPaginationProducts(0, 10).getTotalElements()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Deve voltar ao primário quando o atraso da réplica excede o limite")
+    void deveVoltarAoPrimarioComReplicaAtrasada() {
+
+        inserirProduto("Livro ainda não replicado");
+        replica.update("update tb_replica_heartbeat set beat_at = beat_at - 60000");
+
+        replicaMonitor.check();
+
+        assertThat(routingDataSource.getReplicas().get(0).isHealthy()).isFalse();
+        assertThat(routingDataSource.getReplicas().get(0).getLagMillis()).isGreaterThan(1_000);
+        assertThat(productService.getPaginationProducts(0, 10).getTotalElements()).isEqualTo(2L);
+        assertThat(replicaMonitor.health().getDetails()).containsEntry("readsOnPrimary", true);
+    }
+
+    @Test
+    @DisplayName("Deve voltar ao primário quando a réplica perde o esquema")
+    void deveVoltarAoPrimarioComReplicaIndisponivel() {
+
+        inserirProduto("Livro ainda não replicado");
+        replica.execute("drop all objects");
+
+        replicaMonitor.check();
+
+        assertThat(routingDataSource.getReplicas().get(0).isHealthy()).isFalse();
+        assertThat(productService.getPaginationProducts(0, 10).getTotalElements()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Deve rotear conexões com credenciais pela réplica e voltar ao primário quando ela falha")
+    void deveRotearConexoesComCredenciais() throws SQLException {
+
+        var replicaSource = new DriverManagerDataSource("jdbc:h2:mem:routing-replica;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        var replicaInfo = new ReplicaRoutingDataSource.Replica("replica-1", replicaSource);
+        replicaInfo.update(true, 0, null);
+        var routing = new ReplicaRoutingDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:routing-primary;MODE=MySQL;DB_CLOSE_DELAY=-1"),
+                List.of(replicaInfo), Duration.ofSeconds(1));
+
+        try (Connection connection = routing.getConnection("sa", "")) {
+            assertThat(connection.getMetaData().getURL()).contains("routing-replica");
+        }
+
+        assertThatThrownBy(() -> routing.getConnection("sa", "senha-errada")).isInstanceOf(SQLException.class);
+        assertThat(replicaInfo.isHealthy()).isFalse();
+
+        try (Connection connection = routing.getConnection("sa", "")) {
+            assertThat(connection.getMetaData().getURL()).contains("routing-primary");
+        }
+    }
+
+    private void inserirProduto(String name) {
+        primary.update("insert into tb_product (name, price, status, created_in, category_id) "
+                + "values (?, 10, 'ATIVO', current_timestamp, ?)", name, categoryId);
+    }
+
+    private Long idDoProduto(String name) {
+        return primary.queryForObject("select id from tb_product where name = ?", Long.class, name);
+    }
+
+    // Two separate H2 databases stand in for a primary and its replica; copying the schema and data is the
+    // replication step.
+    private void replicar() {
+        List<String> script = primary.queryForList("script", String.class);
+
+        replica.execute("drop all objects");
+        script.forEach(replica::execute);
+    }
+}
@@ -0,0 +1,51 @@
+package ms.productService.configs;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestStatisticsFilterTest {
+
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RequestStatistics requestStatistics = new RequestStatistics();
+    private RequestStatisticsFilter filter = new RequestStatisticsFilter(meterRegistry);
+
+    @Test
+    @DisplayName("Deve registrar comandos SQL e entidades carregadas pelo padrão da rota")
+    void deveRegistrarComandosEEntidadesPorRota() throws Exception {
+
+        var request = new MockHttpServletRequest("GET", "/product/1");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/product/{id}");
+            requestStatistics.inspect("select 1");
+            requestStatistics.inspect("select 2");
+            requestStatistics.onLoad(new Object(), (Object) 1L, null, null, null);
+        });
+
+        var queries = meterRegistry.get("http.server.requests.queries").tag("uri", "/product/{id}").summary();
+        var loads = meterRegistry.get("http.server.requests.entity.loads").tag("uri", "/product/{id}").summary();
+
+        assertThat(queries.count()).isEqualTo(1L);
+        assertThat(queries.totalAmount()).isEqualTo(2.0);
+        assertThat(loads.totalAmount()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve ignorar comandos executados fora de uma requisição")
+    void deveIgnorarComandosForaDeRequisicao() throws Exception {
+
+        requestStatistics.inspect("select 1");
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/naoExiste"), new MockHttpServletResponse(),
+                (req, res) -> requestStatistics.inspect("select 1"));
+
+        assertThat(meterRegistry.find("http.server.requests.queries").summary()).isNull();
+        assertThat(RequestStatistics.finish()).isNull();
+    }
+}
@@ -0,0 +1,155 @@
+package ms.productService.configs;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import jakarta.persistence.EntityManagerFactory;
+import ms.productService.dtos.StatusProduct;
+import ms.productService.entity.Category;
+import ms.productService.entity.Product;
+import ms.productService.repositories.CategoryRepository;
+import ms.productService.repositories.ProductRepository;
+import ms.productService.services.CategoryNameResolver;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.cache.CacheManager;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+        "product.category-resolver.ttl=0s"})
+@Import({SecondLevelCacheConfig.class, CategoryNameResolver.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SecondLevelCacheConfigTest {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CategoryNameResolver categoryNameResolver;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private Category livros;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        livros = new Category();
+        livros.setName("Livros");
+        categoryRepository.save(livros);
+
+        Product produto = new Product();
+        produto.setName("Livro 1");
+        produto.setPrice(BigDecimal.TEN);
+        produto.setStatus(StatusProduct.ATIVO);
+        produto.setCreatedIn(LocalDateTime.now());
+        produto.setCategory(livros);
+        productId = productRepository.save(produto).getId();
+
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    private String nomeDaCategoriaDoProduto() {
+        return transactionTemplate.execute(status ->
+                productRepository.findById(productId).orElseThrow().getCategory().getName());
+    }
+
+    @Test
+    @DisplayName("Deve servir a categoria do produto pelo cache de segundo nível após a primeira carga")
+    void deveServirCategoriaDoProdutoPeloCache() {
+
+        nomeDaCategoriaDoProduto();
+        statistics.clear();
+
+        assertThat(nomeDaCategoriaDoProduto()).isEqualTo("Livros");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve servir findByName pelo cache de consultas e invalidá-lo quando a categoria mudar")
+    void deveServirFindByNamePeloCacheDeConsultas() {
+
+        categoryRepository.findByName("Livros");
+        statistics.clear();
+
+        assertThat(categoryRepository.findByName("Livros")).isPresent();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            var category = categoryRepository.findById(livros.getId()).orElseThrow();
+            category.setName("Livros e Revistas");
+        });
+
+        assertThat(categoryRepository.findByName("Livros")).isEmpty();
+        assertThat(categoryRepository.findByName("Livros e Revistas")).isPresent();
+        assertThat(nomeDaCategoriaDoProduto()).isEqualTo("Livros e Revistas");
+    }
+
+    @Test
+    @DisplayName("Deve reconsultar o banco, e não o cache de consultas, quando o TTL do resolvedor expirar")
+    void deveReconsultarOBancoQuandoOTtlDoResolvedorExpirar() {
+
+        assertThat(categoryNameResolver.resolve("Livros")).contains(livros.getId());
+        categoryRepository.findByName("Livros");
+
+        // Another instance renames the category; this instance's query cache never hears of it.
+        jdbcTemplate.update("update tb_category set name = 'Livros e Revistas' where id = ?", livros.getId());
+
+        assertThat(categoryRepository.findByName("Livros")).isPresent();
+        assertThat(categoryNameResolver.resolve("Livros")).isEmpty();
+        assertThat(categoryNameResolver.resolve("Livros e Revistas")).contains(livros.getId());
+    }
+
+    @Test
+    @DisplayName("Deve limitar tamanho e idade das regiões de categoria e de consultas")
+    void deveLimitarTamanhoEIdadeDasRegioes() {
+
+        var cacheManager = (CacheManager) entityManagerFactory.getProperties().get(ConfigSettings.CACHE_MANAGER);
+
+        for (String region : List.of(SecondLevelCacheConfig.CATEGORY_REGION,
+                RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME)) {
+            var configuration = cacheManager.getCache(region).getConfiguration(CaffeineConfiguration.class);
+
+            assertThat(configuration.getMaximumSize()).as(region).hasValue(1000);
+            assertThat(configuration.getExpireAfterWrite()).as(region).hasValue(Duration.ofMinutes(10).toNanos());
+        }
+    }
+}
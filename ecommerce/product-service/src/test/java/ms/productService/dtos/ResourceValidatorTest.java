@@ -0,0 +1,45 @@
+package ms.productService.dtos;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResourceValidatorTest {
+
+    private ProductResponseDTO criarProduto(LocalDateTime updatedIn, String categoria, long version) {
+        return new ProductResponseDTO(1L, "Notebook", "Notebook gamer", new BigDecimal("4500.00"),
+                StatusProduct.ATIVO, LocalDateTime.of(2025, 1, 1, 10, 0), updatedIn, categoria, version);
+    }
+
+    @Test
+    @DisplayName("Deve derivar a ETag do id e da versão do produto, e o Last-Modified da data de atualização")
+    void deveDerivarValidadorDoProduto() {
+
+        var original = ResourceValidator.of(criarProduto(null, "Eletrônicos", 3));
+
+        assertThat(original.eTag()).isEqualTo("\"1-3\"");
+        assertThat(ResourceValidator.of(criarProduto(null, "Eletrônicos", 3))).isEqualTo(original);
+
+        var atualizado = ResourceValidator.of(criarProduto(LocalDateTime.of(2025, 2, 1, 10, 0), "Eletrônicos", 4));
+        var renomeado = ResourceValidator.of(criarProduto(null, "Informática", 4));
+
+        assertThat(atualizado.eTag()).isEqualTo("\"1-4\"");
+        assertThat(atualizado.lastModified()).isGreaterThan(original.lastModified());
+        assertThat(renomeado.eTag()).isEqualTo(atualizado.eTag());
+        assertThat(renomeado.lastModified()).isEqualTo(original.lastModified());
+    }
+
+    @Test
+    @DisplayName("Deve dar à representação gzip um validador forte próprio")
+    void deveDarValidadorProprioAoGzip() {
+
+        var validator = ResourceValidator.of(criarProduto(null, "Eletrônicos", 0));
+
+        assertThat(validator.gzipETag()).isEqualTo(validator.eTag().replaceAll("\"$", "-gzip\""));
+        assertThat(validator.gzipETag()).isEqualTo("\"1-0-gzip\"").isNotEqualTo(validator.eTag());
+    }
+}
@@ -0,0 +1,176 @@
+package ms.productService.listeners;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import ms.productService.dtos.ProductFeedUpdateDTO;
+import ms.productService.dtos.StatusProduct;
+import ms.productService.services.ProductBulkService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.UnexpectedRollbackException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductFeedListenerTest {
+
+    @Mock
+    private ProductBulkService productBulkService;
+
+    @Mock
+    private AmqpAdmin amqpAdmin;
+
+    @Mock
+    private Channel channel;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ProductFeedListener productFeedListener;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        productFeedListener = new ProductFeedListener(productBulkService, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), amqpAdmin, meterRegistry);
+    }
+
+    private Message criarMensagem(long tag, String corpo) {
+        MessageProperties properties = new MessageProperties();
+        properties.setDeliveryTag(tag);
+        return new Message(corpo.getBytes(StandardCharsets.UTF_8), properties);
+    }
+
+    private double contador(String resultado) {
+        return meterRegistry.get("product.feed.messages").tag("result", resultado).counter().count();
+    }
+
+    @Test
+    @DisplayName("Deve aplicar o lote válido em uma única chamada e enviar as mensagens inválidas para a DLQ")
+    void deveAplicarLoteEEnviarInvalidasParaDlq() throws Exception {
+
+        when(productBulkService.applyFeed(anyList())).thenReturn(Set.of(1L, 2L));
+
+        productFeedListener.onFeed(List.of(
+                criarMensagem(1, "{\"productId\":1,\"price\":10.50}"),
+                criarMensagem(2, "não é json"),
+                criarMensagem(3, "{\"productId\":2,\"status\":\"INATIVO\"}"),
+                criarMensagem(4, "{\"productId\":3,\"price\":-1}"),
+                criarMensagem(5, "{\"productId\":4}")
+        ), channel);
+
+        verify(productBulkService, times(1)).applyFeed(List.of(
+                new ProductFeedUpdateDTO(1L, new BigDecimal("10.50"), null),
+                new ProductFeedUpdateDTO(2L, null, StatusProduct.INATIVO)));
+        verify(channel).basicNack(2, false, false);
+        verify(channel).basicNack(4, false, false);
+        verify(channel).basicNack(5, false, false);
+        verify(channel).basicAck(3, true);
+        assertThat(contador("applied")).isEqualTo(2);
+        assertThat(contador("dead_lettered")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Deve devolver o lote para a fila quando a falha no banco for transitória")
+    void deveDevolverLoteQuandoFalhaForTransitoria() throws Exception {
+
+        when(productBulkService.applyFeed(anyList())).thenThrow(new QueryTimeoutException("timeout"));
+
+        productFeedListener.onFeed(List.of(
+                criarMensagem(1, "{\"productId\":1,\"price\":10.50}"),
+                criarMensagem(2, "{\"productId\":2,\"price\":12.00}")
+        ), channel);
+
+        verify(channel).basicNack(2, true, true);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+        assertThat(contador("requeued")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve enviar para a DLQ, sem contar como aplicadas, as mensagens de produtos inexistentes")
+    void deveEnviarParaDlqMensagensDeProdutosInexistentes() throws Exception {
+
+        when(productBulkService.applyFeed(anyList())).thenReturn(Set.of(1L));
+
+        productFeedListener.onFeed(List.of(
+                criarMensagem(1, "{\"productId\":1,\"price\":10.50}"),
+                criarMensagem(2, "{\"productId\":999,\"price\":12.00}")
+        ), channel);
+
+        verify(channel).basicAck(1, false);
+        verify(channel).basicNack(2, false, false);
+        assertThat(contador("applied")).isEqualTo(1);
+        assertThat(contador("not_found")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve reaplicar uma a uma e enviar para a DLQ só a mensagem que falha quando a falha não for transitória")
+    void deveIsolarMensagemComFalhaNaoTransitoria() throws Exception {
+
+        var valida = new ProductFeedUpdateDTO(1L, new BigDecimal("10.50"), null);
+        var invalida = new ProductFeedUpdateDTO(2L, new BigDecimal("12.00"), null);
+        var inexistente = new ProductFeedUpdateDTO(3L, new BigDecimal("14.00"), null);
+
+        when(productBulkService.applyFeed(List.of(valida, invalida, inexistente)))
+                .thenThrow(new DataIntegrityViolationException("erro"));
+        when(productBulkService.applyFeed(List.of(valida))).thenReturn(Set.of(1L));
+        when(productBulkService.applyFeed(List.of(invalida))).thenThrow(new DataIntegrityViolationException("erro"));
+        when(productBulkService.applyFeed(List.of(inexistente))).thenReturn(Set.of());
+
+        productFeedListener.onFeed(List.of(
+                criarMensagem(7, "{\"productId\":1,\"price\":10.50}"),
+                criarMensagem(8, "{\"productId\":2,\"price\":12.00}"),
+                criarMensagem(9, "{\"productId\":3,\"price\":14.00}")
+        ), channel);
+
+        verify(channel).basicAck(7, false);
+        verify(channel).basicNack(8, false, false);
+        verify(channel).basicNack(9, false, false);
+        verify(channel, never()).basicNack(anyLong(), eq(true), anyBoolean());
+        assertThat(contador("applied")).isEqualTo(1);
+        assertThat(contador("dead_lettered")).isEqualTo(1);
+        assertThat(contador("not_found")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve reaplicar uma a uma e enviar para a DLQ a mensagem que falha fora do banco")
+    void deveIsolarMensagemComFalhaForaDoBanco() throws Exception {
+
+        var valida = new ProductFeedUpdateDTO(1L, new BigDecimal("10.50"), null);
+        var invalida = new ProductFeedUpdateDTO(2L, new BigDecimal("12.00"), null);
+
+        when(productBulkService.applyFeed(List.of(valida, invalida)))
+                .thenThrow(new UnexpectedRollbackException("rollback"));
+        when(productBulkService.applyFeed(List.of(valida))).thenReturn(Set.of(1L));
+        when(productBulkService.applyFeed(List.of(invalida))).thenThrow(new IllegalStateException("erro"));
+
+        productFeedListener.onFeed(List.of(
+                criarMensagem(7, "{\"productId\":1,\"price\":10.50}"),
+                criarMensagem(8, "{\"productId\":2,\"price\":12.00}")
+        ), channel);
+
+        verify(channel).basicAck(7, false);
+        verify(channel).basicNack(8, false, false);
+        verify(channel, never()).basicNack(anyLong(), eq(true), anyBoolean());
+        assertThat(contador("applied")).isEqualTo(1);
+        assertThat(contador("dead_lettered")).isEqualTo(1);
+        assertThat(contador("requeued")).isZero();
+    }
+}
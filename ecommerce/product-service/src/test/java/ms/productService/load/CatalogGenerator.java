@@ -0,0 +1,92 @@
+package ms.productService.load;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class CatalogGenerator {
+
+    static final List<String> VOCABULARY = List.of(
+            "notebook", "camiseta", "livro", "cadeira", "monitor", "teclado", "caneca", "mochila", "fone", "tenis",
+            "relogio", "garrafa", "luminaria", "tapete", "panela", "bicicleta", "jaqueta", "carregador", "mesa", "violao");
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private JdbcTemplate jdbcTemplate;
+    private Random random;
+
+    public CatalogGenerator(JdbcTemplate jdbcTemplate, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.random = new Random(seed);
+    }
+
+    public record Catalog(List<Long> categoryIds, List<String> categoryNames, long firstProductId, int productCount) {
+
+        public long productId(int index) {
+            return firstProductId + index;
+        }
+
+        public String productName(int index) {
+            return "Produto " + index;
+        }
+
+        public String categoryOf(int index) {
+            return categoryNames.get(index % categoryNames.size());
+        }
+    }
+
+    public Catalog generate(int categories, int productsPerCategory) {
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> categoryRows = new ArrayList<>(categories);
+
+        for (int c = 0; c < categories; c++) {
+            categoryRows.add(new Object[]{"Categoria " + c, "Categoria sintética " + c, now});
+        }
+        jdbcTemplate.batchUpdate("insert into tb_category (name, description, created_in) values (?, ?, ?)", categoryRows);
+
+        List<Long> categoryIds = new ArrayList<>(categories);
+        List<String> categoryNames = new ArrayList<>(categories);
+        jdbcTemplate.query("select id, name from tb_category order by id", rs -> {
+            categoryIds.add(rs.getLong("id"));
+            categoryNames.add(rs.getString("name"));
+        });
+
+        int total = categories * productsPerCategory;
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+
+        // Products are inserted in index order so their identity ids are contiguous and derivable from the index.
+        for (int i = 0; i < total; i++) {
+            String first = VOCABULARY.get(random.nextInt(VOCABULARY.size()));
+            String second = VOCABULARY.get(random.nextInt(VOCABULARY.size()));
+
+            rows.add(new Object[]{
+                    "Produto " + i,
+                    first + " " + second + " " + i,
+                    1 + random.nextInt(100_000) / 100.0,
+                    random.nextInt(10) == 0 ? "INATIVO" : "ATIVO",
+                    now,
+                    categoryIds.get(i % categories)
+            });
+
+            if (rows.size() == BATCH_SIZE || i == total - 1) {
+                jdbcTemplate.batchUpdate("insert into tb_product (name, description, price, status, created_in, category_id) "
+                        + "values (?, ?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+
+        Long firstId = jdbcTemplate.queryForObject("select min(id) from tb_product", Long.class);
+        Long lastId = jdbcTemplate.queryForObject("select max(id) from tb_product", Long.class);
+
+        if (total > 0 && lastId - firstId + 1 != total) {
+            throw new IllegalStateException("Ids dos produtos gerados não são contíguos.");
+        }
+
+        return new Catalog(categoryIds, categoryNames, total > 0 ? firstId : 0, total);
+    }
+}
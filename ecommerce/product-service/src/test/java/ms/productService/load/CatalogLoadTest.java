@@ -0,0 +1,109 @@
+package ms.productService.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import ms.productService.ProductApiApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sobe a aplicação sobre um H2 em modo MySQL, semeia um catálogo sintético e aplica uma mistura de leituras e
+ * escritas em todos os endpoints de produto e categoria. O relatório é gravado em {@code target/load-report.json};
+ * passe {@code -Dload.baseline=<relatório anterior>} para comparar o p99 de cada operação com outro commit.
+ *
+ * <p>Executado apenas com {@code mvn test -Pload-test}.
+ */
+@Tag("load")
+@SpringBootTest(classes = ProductApiApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:catalog-load;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.rabbitmq.listener.simple.auto-startup=false",
+        "product.outbox.poll-interval=3600000",
+        "logging.level.ms.productService=WARN"})
+@Import(CatalogLoadTest.SeedConfig.class)
+public class CatalogLoadTest {
+
+    private static final int CATEGORIES = Integer.getInteger("load.categories", 20);
+    private static final int PRODUCTS_PER_CATEGORY = Integer.getInteger("load.products-per-category", 500);
+    private static final int CLIENTS = Integer.getInteger("load.clients", 32);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("load.warmup-seconds", 5));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.duration-seconds", 30));
+    private static final long SEED = Long.getLong("load.seed", 42);
+
+    @TestConfiguration
+    static class SeedConfig {
+
+        @Bean
+        CatalogSeeder catalogSeeder(JdbcTemplate jdbcTemplate) {
+            return new CatalogSeeder(jdbcTemplate);
+        }
+    }
+
+    // Seeds before ApplicationReadyEvent so the in-memory indexes are built with the full catalog.
+    static class CatalogSeeder {
+
+        private JdbcTemplate jdbcTemplate;
+        private CatalogGenerator.Catalog catalog;
+
+        CatalogSeeder(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @EventListener(ApplicationStartedEvent.class)
+        public void seed() {
+            catalog = new CatalogGenerator(jdbcTemplate, SEED).generate(CATEGORIES, PRODUCTS_PER_CATEGORY);
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CatalogSeeder seeder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Carga: mistura de leitura e escrita sobre catálogo sintético")
+    void executarCargaSobreCatalogoSintetico() throws Exception {
+
+        String label = System.getProperty("load.label", CATEGORIES + "x" + PRODUCTS_PER_CATEGORY);
+        LoadDriver driver = new LoadDriver(objectMapper, port, seeder.catalog);
+
+        LoadDriver.LoadReport report = driver.run(label, CLIENTS, WARMUP, DURATION, SEED);
+
+        System.out.println(LoadDriver.format(report, baseline()));
+
+        File output = new File("target/load-report.json");
+        output.getParentFile().mkdirs();
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(output, report);
+
+        assertThat(report.requests()).isPositive();
+        assertThat(report.errors()).isZero();
+    }
+
+    private LoadDriver.LoadReport baseline() throws IOException {
+        String path = System.getProperty("load.baseline");
+        return path == null ? null : objectMapper.readValue(new File(path), LoadDriver.LoadReport.class);
+    }
+}
@@ -0,0 +1,341 @@
+package ms.productService.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class LoadDriver {
+
+    public record Operation(String name, int weight, Function<Random, HttpRequest> request,
+                            Consumer<HttpResponse<String>> onSuccess) {
+
+        Operation(String name, int weight, Function<Random, HttpRequest> request) {
+            this(name, weight, request, response -> {});
+        }
+    }
+
+    public record OperationStats(String name, long requests, long errors, double throughput,
+                                 double p50Millis, double p99Millis, double p999Millis, double maxMillis) {}
+
+    public record LoadReport(String label, int clients, double seconds, long requests, long errors, double throughput,
+                             double p50Millis, double p99Millis, double p999Millis, List<OperationStats> operations) {}
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final CatalogGenerator.Catalog catalog;
+    private final List<Operation> operations;
+    private final int totalWeight;
+
+    // The last tenth of the seeded catalog is reserved for deletes so reads and updates never hit a removed id.
+    private final int readableProducts;
+    private final AtomicInteger nextDeletion;
+    private final AtomicInteger nextCreated = new AtomicInteger();
+    private final Queue<Long> createdCategories = new ConcurrentLinkedQueue<>();
+
+    public LoadDriver(ObjectMapper objectMapper, int port, CatalogGenerator.Catalog catalog) {
+        this.objectMapper = objectMapper;
+        this.baseUrl = "http://localhost:" + port;
+        this.catalog = catalog;
+        this.readableProducts = Math.max(1, catalog.productCount() * 9 / 10);
+        this.nextDeletion = new AtomicInteger(readableProducts);
+        this.operations = operations();
+        this.totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+    }
+
+    private List<Operation> operations() {
+        return List.of(
+                new Operation("GET /product/{id}", 300, r -> get("/product/" + readableId(r))),
+                new Operation("GET /product/{page}/{size}", 80, r -> get("/product/" + r.nextInt(50) + "/20")),
+                new Operation("GET /product/cursor", 50, r -> get("/product/cursor?size=20")),
+                new Operation("GET /product/c={categoryName}/{page}/{size}", 80,
+                        r -> get("/product/c=" + encode(category(r)) + "/" + r.nextInt(5) + "/20")),
+                new Operation("GET /product/c={categoryName}", 20, r -> get("/product/c=" + encode(category(r)))),
+                new Operation("GET /product/search", 100,
+                        r -> get("/product/search?q=" + encode(word(r) + " " + word(r).substring(0, 3)))),
+                new Operation("GET /product/filter", 80, r -> get("/product/filter?category=" + encode(category(r))
+                        + "&status=ATIVO&maxPrice=" + (50 + r.nextInt(500)))),
+                new Operation("GET /product", 5, r -> get("/product")),
+                new Operation("GET /product/export", 5, r -> get("/product/export")),
+                new Operation("GET /category", 30, r -> get("/category")),
+                new Operation("GET /category/{id}", 40, r -> get("/category/" + categoryId(r))),
+                new Operation("POST /product", 60, r -> send("POST", "/product", newProduct(r))),
+                new Operation("PUT /product/{id}", 50, r -> {
+                    int index = r.nextInt(readableProducts);
+                    return send("PUT", "/product/" + catalog.productId(index), Map.of(
+                            "name", catalog.productName(index),
+                            "description", word(r) + " " + word(r) + " " + index,
+                            "price", 1 + r.nextInt(100_000) / 100.0,
+                            "status", "ATIVO",
+                            "categoryName", catalog.categoryOf(index)));
+                }),
+                new Operation("DELETE /product/{id}", 10, r -> {
+                    int index = nextDeletion.getAndIncrement();
+                    return index < catalog.productCount() ? delete("/product/" + catalog.productId(index)) : null;
+                }),
+                new Operation("PATCH /product/bulk/status", 10, r -> send("PATCH", "/product/bulk/status",
+                        Map.of("ids", readableIds(r, 10), "status", r.nextBoolean() ? "ATIVO" : "INATIVO"))),
+                new Operation("PATCH /product/bulk/price", 10, r -> send("PATCH", "/product/bulk/price",
+                        Map.of("ids", readableIds(r, 10), "percentage", r.nextBoolean() ? 1 : -1))),
+                new Operation("POST /product/bulk", 5, r -> importLines(IntStream.range(0, 50).mapToObj(i -> newProduct(r)).toList())),
+                new Operation("POST /category", 10, r -> send("POST", "/category",
+                        Map.of("name", "Categoria carga " + nextCreated.getAndIncrement(), "description", "Criada pela carga")),
+                        response -> createdCategories.add(readId(response))),
+                new Operation("PUT /category/{id}", 10, r -> {
+                    int index = r.nextInt(catalog.categoryIds().size());
+                    return send("PUT", "/category/" + catalog.categoryIds().get(index),
+                            Map.of("name", catalog.categoryNames().get(index), "description", "Atualizada " + r.nextInt()));
+                }),
+                new Operation("DELETE /category/{id}", 5, r -> {
+                    Long id = createdCategories.poll();
+                    return id != null ? delete("/category/" + id) : null;
+                })
+        );
+    }
+
+    public LoadReport run(String label, int clients, Duration warmup, Duration duration, long seed) throws InterruptedException {
+
+        drive(clients, warmup, seed - 1, null);
+
+        List<Map<String, List<Long>>> latencies = new ArrayList<>();
+        List<Map<String, Integer>> errors = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            latencies.add(new HashMap<>());
+            errors.add(new HashMap<>());
+        }
+
+        long start = System.nanoTime();
+        drive(clients, duration, seed, (client, result) -> {
+            latencies.get(client).computeIfAbsent(result.operation(), k -> new ArrayList<>()).add(result.nanos());
+            if (!result.success()) {
+                errors.get(client).merge(result.operation(), 1, Integer::sum);
+            }
+        });
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        Map<String, List<Long>> merged = new HashMap<>();
+        Map<String, Integer> mergedErrors = new HashMap<>();
+        latencies.forEach(m -> m.forEach((op, values) -> merged.computeIfAbsent(op, k -> new ArrayList<>()).addAll(values)));
+        errors.forEach(m -> m.forEach((op, count) -> mergedErrors.merge(op, count, Integer::sum)));
+
+        List<OperationStats> stats = operations.stream()
+                .filter(op -> merged.containsKey(op.name()))
+                .map(op -> stats(op.name(), merged.get(op.name()), mergedErrors.getOrDefault(op.name(), 0), seconds))
+                .toList();
+
+        long[] all = merged.values().stream().flatMap(List::stream).mapToLong(Long::longValue).sorted().toArray();
+        long totalErrors = mergedErrors.values().stream().mapToLong(Integer::longValue).sum();
+
+        return new LoadReport(label, clients, seconds, all.length, totalErrors, all.length / seconds,
+                percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999), stats);
+    }
+
+    private record Result(String operation, long nanos, boolean success) {}
+
+    private interface ResultSink {
+        void accept(int client, Result result);
+    }
+
+    private void drive(int clients, Duration duration, long seed, ResultSink sink) throws InterruptedException {
+
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Thread> threads = new ArrayList<>(clients);
+
+        for (int c = 0; c < clients; c++) {
+            int client = c;
+            Random random = new Random(seed * 31 + c);
+
+            Thread thread = new Thread(() -> {
+                while (System.nanoTime() < deadline) {
+                    Operation operation = pick(random);
+                    HttpRequest request = operation.request().apply(random);
+
+                    if (request == null) {
+                        continue;
+                    }
+
+                    long sent = System.nanoTime();
+                    boolean success;
+
+                    try {
+                        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                        success = response.statusCode() < 400;
+                        if (success) {
+                            operation.onSuccess().accept(response);
+                        }
+                    } catch (IOException e) {
+                        success = false;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+
+                    if (sink != null) {
+                        sink.accept(client, new Result(operation.name(), System.nanoTime() - sent, success));
+                    }
+                }
+            }, "load-client-" + c);
+
+            threads.add(thread);
+            thread.start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    private Operation pick(Random random) {
+        int roll = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            roll -= operation.weight();
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        return operations.get(0);
+    }
+
+    private static OperationStats stats(String name, List<Long> nanos, int errors, double seconds) {
+        long[] sorted = nanos.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new OperationStats(name, sorted.length, errors, sorted.length / seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+
+    public static String format(LoadReport report, LoadReport baseline) {
+
+        Map<String, OperationStats> previous = baseline == null ? Map.of() : baseline.operations().stream()
+                .collect(Collectors.toMap(OperationStats::name, s -> s));
+
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%n%s: %d clientes, %.1f s, %d requisições, %d erros, %.0f req/s, p50 %.1f ms, p99 %.1f ms, p999 %.1f ms%n",
+                report.label(), report.clients(), report.seconds(), report.requests(), report.errors(), report.throughput(),
+                report.p50Millis(), report.p99Millis(), report.p999Millis()));
+        out.append(String.format("%-46s %8s %6s %8s %9s %9s %9s %9s %10s%n",
+                "operação", "total", "erros", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "Δp99"));
+
+        for (OperationStats s : report.operations()) {
+            OperationStats before = previous.get(s.name());
+            String delta = before == null || before.p99Millis() == 0 ? "" :
+                    String.format("%+.0f%%", (s.p99Millis() / before.p99Millis() - 1) * 100);
+            out.append(String.format("%-46s %8d %6d %8.1f %9.1f %9.1f %9.1f %9.1f %10s%n",
+                    s.name(), s.requests(), s.errors(), s.throughput(), s.p50Millis(), s.p99Millis(), s.p999Millis(),
+                    s.maxMillis(), delta));
+        }
+
+        return out.toString();
+    }
+
+    private int readableIndex(Random random) {
+        return random.nextInt(readableProducts);
+    }
+
+    private long readableId(Random random) {
+        return catalog.productId(readableIndex(random));
+    }
+
+    private List<Long> readableIds(Random random, int count) {
+        return IntStream.range(0, count).mapToObj(i -> readableId(random)).distinct().toList();
+    }
+
+    private String category(Random random) {
+        return catalog.categoryNames().get(random.nextInt(catalog.categoryNames().size()));
+    }
+
+    private long categoryId(Random random) {
+        return catalog.categoryIds().get(random.nextInt(catalog.categoryIds().size()));
+    }
+
+    private static String word(Random random) {
+        return CatalogGenerator.VOCABULARY.get(random.nextInt(CatalogGenerator.VOCABULARY.size()));
+    }
+
+    private Map<String, Object> newProduct(Random random) {
+        return Map.of(
+                "name", "Produto carga " + nextCreated.getAndIncrement(),
+                "description", word(random) + " " + word(random),
+                "price", 1 + random.nextInt(100_000) / 100.0,
+                "status", "ATIVO",
+                "categoryName", category(random));
+    }
+
+    private Long readId(HttpResponse<String> response) {
+        try {
+            JsonNode body = objectMapper.readTree(response.body());
+            return body.path("id").asLong();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private HttpRequest delete(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).DELETE().build();
+    }
+
+    private HttpRequest send(String method, String path, Object body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest importLines(List<Map<String, Object>> rows) {
+        StringBuilder body = new StringBuilder();
+        try {
+            for (Map<String, Object> row : rows) {
+                body.append(objectMapper.writeValueAsString(row)).append('\n');
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/product/bulk"))
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
@@ -0,0 +1,184 @@
+package ms.productService.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import ms.productService.ProductApiApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Roda a mesma carga de {@link CatalogLoadTest} duas vezes, com a configuração atual de thread por requisição e com o
+ * perfil {@code virtual-threads}, sobre um H2 cujas instruções esperam {@code load.query-latency-millis} como uma ida
+ * ao banco real. Os relatórios vão para {@code target/load-report-threads.json} e
+ * {@code target/load-report-virtual-threads.json}, e o segundo é impresso com o Δp99 em relação ao primeiro.
+ *
+ * <p>Virtual threads só entram em ação a partir do Java 21; rode com
+ * {@code mvn test -Pload-test -Pvirtual-threads -Dtest=VirtualThreadsLoadComparisonTest} num JDK 21. Em runtimes
+ * anteriores o perfil aplica apenas o dimensionamento de pool e do Tomcat, e o rótulo do relatório indica isso.
+ */
+@Tag("load")
+public class VirtualThreadsLoadComparisonTest {
+
+    private static final int CATEGORIES = Integer.getInteger("load.categories", 20);
+    private static final int PRODUCTS_PER_CATEGORY = Integer.getInteger("load.products-per-category", 500);
+    private static final int CLIENTS = Integer.getInteger("load.clients", 400);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("load.warmup-seconds", 5));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.duration-seconds", 30));
+    private static final long SEED = Long.getLong("load.seed", 42);
+    private static final long QUERY_LATENCY_MILLIS = Long.getLong("load.query-latency-millis", 5);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Carga: thread por requisição x perfil virtual-threads sobre o mesmo catálogo")
+    void compararThreadPorRequisicaoComVirtualThreads() throws Exception {
+
+        LoadDriver.LoadReport threads = run("threads", false);
+        LoadDriver.LoadReport virtualThreads = run("virtual-threads", true);
+
+        System.out.println(LoadDriver.format(threads, null));
+        System.out.println(LoadDriver.format(virtualThreads, threads));
+
+        assertThat(threads.requests()).isPositive();
+        assertThat(virtualThreads.requests()).isPositive();
+        assertThat(threads.errors()).isZero();
+        assertThat(virtualThreads.errors()).isZero();
+    }
+
+    private LoadDriver.LoadReport run(String name, boolean virtualThreads) throws Exception {
+
+        AtomicReference<CatalogGenerator.Catalog> catalog = new AtomicReference<>();
+        var application = new SpringApplicationBuilder(ProductApiApplication.class)
+                // Seeds before ApplicationReadyEvent so the in-memory indexes are built with the full catalog.
+                .listeners((ApplicationListener<ApplicationStartedEvent>) event -> catalog.set(
+                        new CatalogGenerator(event.getApplicationContext().getBean(JdbcTemplate.class), SEED)
+                                .generate(CATEGORIES, PRODUCTS_PER_CATEGORY)));
+
+        if (virtualThreads) {
+            application.profiles("virtual-threads");
+        }
+
+        try (ConfigurableApplicationContext context = application.run("--server.port=0",
+                "--spring.datasource.url=jdbc:slow:h2:mem:load-" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=" + LatencyDriver.class.getName(),
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.rabbitmq.listener.simple.auto-startup=false",
+                "--product.outbox.poll-interval=3600000",
+                "--logging.level.ms.productService=WARN")) {
+
+            boolean active = Threading.VIRTUAL.isActive(context.getEnvironment());
+            String label = virtualThreads && !active ? name + " (inativo no Java " + Runtime.version().feature() + ")" : name;
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            LatencyDriver.enabled = true;
+
+            try {
+                LoadDriver.LoadReport report = new LoadDriver(objectMapper, port, catalog.get())
+                        .run(label, CLIENTS, WARMUP, DURATION, SEED);
+
+                File output = new File("target/load-report-" + name + ".json");
+                output.getParentFile().mkdirs();
+                objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(output, report);
+
+                return report;
+            } finally {
+                LatencyDriver.enabled = false;
+            }
+        }
+    }
+
+    // Wraps the H2 driver so each statement waits as long as a round trip to a real database would; without it an
+    // in-memory database never blocks a request thread and the two setups cannot differ.
+    public static class LatencyDriver implements Driver {
+
+        private static final String PREFIX = "jdbc:slow:";
+
+        static volatile boolean enabled;
+
+        private final Driver delegate = new org.h2.Driver();
+
+        @Override
+        public Connection connect(String url, Properties info) throws SQLException {
+            return acceptsURL(url) ? wrap(delegate.connect("jdbc:" + url.substring(PREFIX.length()), info), Connection.class) : null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T wrap(T target, Class<T> type) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                if (enabled && Statement.class.isAssignableFrom(type) && method.getName().startsWith("execute")) {
+                    Thread.sleep(QUERY_LATENCY_MILLIS);
+                }
+
+                Object result;
+
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+
+                if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                    return wrap(result, (Class<Object>) method.getReturnType());
+                }
+
+                return result;
+            });
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url != null && url.startsWith(PREFIX);
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) throws SQLException {
+            return delegate.getPropertyInfo(url, info);
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return delegate.getMajorVersion();
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return delegate.getMinorVersion();
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            return delegate.getParentLogger();
+        }
+    }
+}
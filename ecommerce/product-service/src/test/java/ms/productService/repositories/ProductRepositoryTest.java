@@ -0,0 +1,225 @@
+package ms.productService.repositories;
+
+import jakarta.persistence.EntityManager;
+import ms.productService.dtos.ProductFilterDTO;
+import ms.productService.dtos.ProductResponseDTO;
+import ms.productService.dtos.StatusProduct;
+import ms.productService.entity.Category;
+import ms.productService.entity.Product;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class ProductRepositoryTest {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int TARGET_CATEGORY_SIZE = 50;
+    private static final int[] CATALOG_SIZES = {1_000, 5_000, 20_000};
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private Category livros;
+    private Category outros;
+    private int seeded;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        livros = criarCategoria("Livros");
+        outros = criarCategoria("Outros");
+
+        for (int i = 0; i < TARGET_CATEGORY_SIZE; i++) {
+            entityManager.persist(criarProduto("Livro " + i, livros));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Category criarCategoria(String nome) {
+        Category categoria = new Category();
+        categoria.setName(nome);
+        categoria.setDescription("Descrição da " + nome);
+        categoria.setCreatedIn(LocalDateTime.now());
+        entityManager.persist(categoria);
+        return categoria;
+    }
+
+    private Product criarProduto(String nome, Category categoria) {
+        Product produto = new Product();
+        produto.setName(nome);
+        produto.setDescription("Descrição do " + nome);
+        produto.setPrice(BigDecimal.TEN);
+        produto.setStatus(StatusProduct.ATIVO);
+        produto.setCreatedIn(LocalDateTime.now());
+        produto.setCategory(categoria);
+        return produto;
+    }
+
+    private void crescerCatalogoAte(int total) {
+        Category outrosRef = entityManager.getReference(Category.class, outros.getId());
+        for (; seeded < total; seeded++) {
+            entityManager.persist(criarProduto("Outro " + seeded, outrosRef));
+            if (seeded % 500 == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                outrosRef = entityManager.getReference(Category.class, outros.getId());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Deve carregar o produto com a categoria em uma consulta e recusar a gravação de versão antiga")
+    void deveRecusarGravacaoDeVersaoAntiga() {
+        Long id = productRepository.findIdsByCategoryId(livros.getId()).get(0);
+        statistics.clear();
+
+        var produto = productRepository.findWithCategoryById(id).orElseThrow();
+
+        assertThat(produto.getCategory().getName()).isEqualTo("Livros");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(produto.getVersion()).isZero();
+
+        // A bulk change committed by someone else in the meantime moves the version on.
+        productRepository.updateStatus(List.of(id), StatusProduct.INATIVO, LocalDateTime.now());
+        produto.setPrice(BigDecimal.ONE);
+
+        assertThatThrownBy(() -> productRepository.saveAndFlush(produto))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    @Test
+    @DisplayName("Deve filtrar pela categoria no banco sem carregar produtos de outras categorias")
+    void deveFiltrarPelaCategoriaNoBanco() {
+        crescerCatalogoAte(1_000);
+        statistics.clear();
+
+        var produtos = productRepository.findAllResponsesByCategoryName("Livros");
+
+        assertThat(produtos).hasSize(TARGET_CATEGORY_SIZE);
+        assertThat(produtos).allMatch(p -> p.name().startsWith("Livro ") && p.categoryName().equals("Livros"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1L);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve listar todos os produtos com a categoria em uma única consulta")
+    void deveListarTodosOsProdutosEmUmaConsulta() {
+        crescerCatalogoAte(200);
+        statistics.clear();
+
+        var produtos = productRepository.findAllResponses();
+
+        assertThat(produtos).hasSize(TARGET_CATEGORY_SIZE + 200);
+        assertThat(produtos).allMatch(p -> p.categoryName() != null);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1L);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve paginar produtos com apenas a consulta da página e a contagem")
+    void devePaginarProdutosComDuasConsultas() {
+        crescerCatalogoAte(200);
+        statistics.clear();
+
+        var pagina = productRepository.findAllResponses(PageRequest.of(2, PAGE_SIZE, Sort.by("name").descending()));
+
+        assertThat(pagina.getContent()).hasSize(PAGE_SIZE);
+        assertThat(pagina.getTotalElements()).isEqualTo(TARGET_CATEGORY_SIZE + 200);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2L);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve percorrer o catálogo por cursor sem consulta de contagem")
+    void devePercorrerOCatalogoPorCursor() {
+        crescerCatalogoAte(200);
+        statistics.clear();
+
+        var primeira = productRepository.findFirstResponses(Limit.of(PAGE_SIZE));
+        var ultimo = primeira.get(PAGE_SIZE - 1);
+        var segunda = productRepository.findResponsesAfter(ultimo.name(), ultimo.id(), Limit.of(PAGE_SIZE));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2L);
+
+        var esperado = productRepository.findAllResponses(PageRequest.of(1, PAGE_SIZE, Sort.by("name").descending()));
+
+        assertThat(segunda).extracting(ProductResponseDTO::id)
+                .containsExactlyElementsOf(esperado.map(ProductResponseDTO::id).getContent());
+    }
+
+    @Test
+    @DisplayName("Deve exportar o catálogo por stream sem hidratar entidades")
+    void deveExportarOCatalogoPorStream() {
+        crescerCatalogoAte(200);
+        statistics.clear();
+
+        try (var produtos = productRepository.streamAllResponses()) {
+            assertThat(produtos.count()).isEqualTo(TARGET_CATEGORY_SIZE + 200);
+        }
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1L);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve filtrar por categoria, status e faixa de preço em uma única consulta")
+    void deveFiltrarPorCategoriaStatusEPreco() {
+        crescerCatalogoAte(200);
+        statistics.clear();
+
+        var filtro = new ProductFilterDTO(List.of("Livros"), List.of(StatusProduct.ATIVO), BigDecimal.ONE, BigDecimal.TEN);
+        var produtos = productRepository.findResponsesByFilter(filtro, PageRequest.of(1, PAGE_SIZE, Sort.by("name").descending()));
+
+        assertThat(produtos).hasSize(PAGE_SIZE);
+        assertThat(produtos).allMatch(p -> p.categoryName().equals("Livros"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1L);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        var semResultado = new ProductFilterDTO(List.of("Livros"), List.of(StatusProduct.INATIVO), null, null);
+        assertThat(productRepository.findResponsesByFilter(semResultado, PageRequest.of(0, PAGE_SIZE))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve manter fixas as consultas da página por categoria com o crescimento do catálogo")
+    void custoDaPaginaPorCategoriaNaoCresceComOCatalogo() {
+        PageRequest pageRequest = PageRequest.of(1, PAGE_SIZE, Sort.by("name").descending());
+
+        for (int tamanho : CATALOG_SIZES) {
+            crescerCatalogoAte(tamanho);
+            entityManager.clear();
+            statistics.clear();
+
+            Page<ProductResponseDTO> pagina = productRepository.findAllResponsesByCategoryName("Livros", pageRequest);
+
+            assertThat(pagina.getContent()).as("catálogo de %d produtos", tamanho).hasSize(PAGE_SIZE);
+            assertThat(pagina.getTotalElements()).isEqualTo(TARGET_CATEGORY_SIZE);
+            // The page query and its count, nothing per row, whatever the catalog size.
+            assertThat(statistics.getPrepareStatementCount()).as("catálogo de %d produtos", tamanho).isEqualTo(2);
+        }
+    }
+}
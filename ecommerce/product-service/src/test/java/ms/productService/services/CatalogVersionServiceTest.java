@@ -0,0 +1,88 @@
+package ms.productService.services;
+
+import ms.productService.events.CategoriesChangedEvent;
+import ms.productService.events.ChangeType;
+import ms.productService.events.ProductsChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(CatalogVersionService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class CatalogVersionServiceTest {
+
+    @Autowired
+    private CatalogVersionService catalogVersionService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from tb_catalog_version");
+    }
+
+    private void publicarEmTransacao(Object... events) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Object event : events) {
+                eventPublisher.publishEvent(event);
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Deve mudar apenas o validador da lista de produtos quando produtos mudarem")
+    void deveMudarValidadorDeProdutosQuandoProdutosMudarem() {
+
+        var produtos = catalogVersionService.productsValidator();
+        var categorias = catalogVersionService.categoriesValidator();
+
+        assertThat(catalogVersionService.productsValidator()).isEqualTo(produtos);
+
+        publicarEmTransacao(ProductsChangedEvent.updated(1L));
+
+        assertThat(catalogVersionService.productsValidator().eTag()).isNotEqualTo(produtos.eTag());
+        assertThat(catalogVersionService.categoriesValidator()).isEqualTo(categorias);
+
+        publicarEmTransacao(new CategoriesChangedEvent(ChangeType.ATUALIZADO, 1L));
+
+        assertThat(catalogVersionService.categoriesValidator().eTag()).isNotEqualTo(categorias.eTag());
+    }
+
+    @Test
+    @DisplayName("Deve avançar a versão uma vez por transação e só quando ela confirmar")
+    void deveAvancarVersaoUmaVezPorTransacaoConfirmada() {
+
+        publicarEmTransacao(ProductsChangedEvent.updated(1L), ProductsChangedEvent.updated(2L),
+                ProductsChangedEvent.created(3L));
+
+        assertThat(catalogVersionService.productsValidator().eTag()).isEqualTo("\"p-1\"");
+        assertThat(jdbcTemplate.queryForObject("select version from tb_catalog_version where name = 'products'", Long.class))
+                .isEqualTo(1L);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(ProductsChangedEvent.updated(1L));
+            status.setRollbackOnly();
+        });
+
+        assertThat(catalogVersionService.productsValidator().eTag()).isEqualTo("\"p-1\"");
+        assertThat(catalogVersionService.productsValidator().lastModified()).isPositive();
+    }
+}
@@ -0,0 +1,210 @@
+package ms.productService.services;
+
+import jakarta.persistence.EntityNotFoundException;
+import ms.productService.configs.CacheConfig;
+import ms.productService.dtos.CategoryDeletionStatus;
+import ms.productService.dtos.StatusProduct;
+import ms.productService.entity.Category;
+import ms.productService.entity.Product;
+import ms.productService.repositories.CategoryDeletionRepository;
+import ms.productService.repositories.CategoryRepository;
+import ms.productService.repositories.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {"product.category-deletion.batch-size=3", "product.category-deletion.sync-threshold=3"})
+@Import({CategoryDeletionService.class, CategoryProductCounter.class, CategoryNameResolver.class, CacheConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class CategoryDeletionServiceTest {
+
+    @TestConfiguration
+    static class ExecutorConfig {
+
+        // Holds the background jobs so each test decides when they run.
+        @Bean
+        List<Runnable> submittedJobs() {
+            return new ArrayList<>();
+        }
+
+        @Bean
+        TaskExecutor applicationTaskExecutor(List<Runnable> submittedJobs) {
+            return submittedJobs::add;
+        }
+    }
+
+    @Autowired
+    private CategoryDeletionService categoryDeletionService;
+
+    @Autowired
+    private CategoryDeletionRepository categoryDeletionRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private List<Runnable> submittedJobs;
+
+    private Category livros;
+    private Category moda;
+
+    @BeforeEach
+    void setUp() {
+        livros = criarCategoria("Livros");
+        moda = criarCategoria("Moda");
+        criarProduto("Camisa", moda);
+    }
+
+    @AfterEach
+    void tearDown() {
+        submittedJobs.clear();
+        categoryDeletionRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    private Category criarCategoria(String nome) {
+        Category categoria = new Category();
+        categoria.setName(nome);
+        return categoryRepository.save(categoria);
+    }
+
+    private Product criarProduto(String nome, Category categoria) {
+        Product produto = new Product();
+        produto.setName(nome);
+        produto.setPrice(BigDecimal.TEN);
+        produto.setStatus(StatusProduct.ATIVO);
+        produto.setCreatedIn(LocalDateTime.now());
+        produto.setCategory(categoria);
+        return productRepository.save(produto);
+    }
+
+    @Test
+    @DisplayName("Deve excluir na própria requisição a categoria com poucos produtos")
+    void deveExcluirCategoriaPequenaNaRequisicao() {
+
+        var produto = criarProduto("Livro 1", livros);
+        criarProduto("Livro 2", livros);
+        cacheManager.getCache(CacheConfig.PRODUCTS).put(produto.getId(), "produto em cache");
+
+        var deletion = categoryDeletionService.deleteCategory(livros.getId());
+
+        assertThat(deletion.status()).isEqualTo(CategoryDeletionStatus.CONCLUIDA);
+        assertThat(deletion.deletedProducts()).isEqualTo(2);
+        assertThat(submittedJobs).isEmpty();
+        assertThat(categoryRepository.findById(livros.getId())).isEmpty();
+        assertThat(productRepository.count()).isEqualTo(1);
+        assertThat(cacheManager.getCache(CacheConfig.PRODUCTS).get(produto.getId())).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve excluir a categoria grande em segundo plano, em lotes, acompanhando o progresso")
+    void deveExcluirCategoriaGrandeEmSegundoPlano() {
+
+        IntStream.range(0, 7).forEach(i -> criarProduto("Livro " + i, livros));
+
+        var deletion = categoryDeletionService.deleteCategory(livros.getId());
+
+        assertThat(deletion.status()).isEqualTo(CategoryDeletionStatus.PENDENTE);
+        assertThat(deletion.totalProducts()).isEqualTo(7);
+        assertThat(productRepository.count()).isEqualTo(8);
+        assertThat(categoryDeletionService.deleteCategory(livros.getId()).id()).isEqualTo(deletion.id());
+        assertThat(submittedJobs).hasSize(1);
+
+        submittedJobs.get(0).run();
+
+        var finished = categoryDeletionService.getDeletion(deletion.id());
+        assertThat(finished.status()).isEqualTo(CategoryDeletionStatus.CONCLUIDA);
+        assertThat(finished.deletedProducts()).isEqualTo(7);
+        assertThat(finished.progress()).isEqualTo(1.0);
+        assertThat(finished.finishedIn()).isNotNull();
+        assertThat(categoryRepository.findById(livros.getId())).isEmpty();
+        assertThat(categoryRepository.findById(moda.getId())).isPresent();
+        assertThat(productRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve ignorar a exclusão que outra instância assumiu e continua executando")
+    void deveIgnorarExclusaoAssumidaPorOutraInstancia() {
+
+        IntStream.range(0, 7).forEach(i -> criarProduto("Livro " + i, livros));
+
+        var deletion = categoryDeletionService.deleteCategory(livros.getId());
+        assumirPorOutraInstancia(deletion.id(), LocalDateTime.now());
+
+        submittedJobs.get(0).run();
+        categoryDeletionService.resume();
+
+        var job = categoryDeletionRepository.findById(deletion.id()).orElseThrow();
+        assertThat(job.getStatus()).isEqualTo(CategoryDeletionStatus.EM_ANDAMENTO);
+        assertThat(job.getOwner()).isEqualTo("outra-instancia");
+        assertThat(job.getDeletedProducts()).isZero();
+        assertThat(submittedJobs).hasSize(1);
+        assertThat(productRepository.count()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Deve retomar a exclusão parada de outra instância e contar apenas as linhas removidas")
+    void deveRetomarExclusaoParada() {
+
+        IntStream.range(0, 7).forEach(i -> criarProduto("Livro " + i, livros));
+
+        var deletion = categoryDeletionService.deleteCategory(livros.getId());
+        assumirPorOutraInstancia(deletion.id(), LocalDateTime.now().minusMinutes(10));
+        submittedJobs.clear();
+
+        categoryDeletionService.resume();
+        assertThat(submittedJobs).hasSize(1);
+        submittedJobs.get(0).run();
+
+        var finished = categoryDeletionService.getDeletion(deletion.id());
+        assertThat(finished.status()).isEqualTo(CategoryDeletionStatus.CONCLUIDA);
+        assertThat(finished.deletedProducts()).isEqualTo(7);
+        assertThat(categoryDeletionRepository.findById(deletion.id()).orElseThrow().getOwner())
+                .isNotEqualTo("outra-instancia");
+        assertThat(categoryRepository.findById(livros.getId())).isEmpty();
+    }
+
+    private void assumirPorOutraInstancia(Long id, LocalDateTime updatedIn) {
+        var job = categoryDeletionRepository.findById(id).orElseThrow();
+        job.setStatus(CategoryDeletionStatus.EM_ANDAMENTO);
+        job.setOwner("outra-instancia");
+        job.setUpdatedIn(updatedIn);
+        categoryDeletionRepository.save(job);
+    }
+
+    @Test
+    @DisplayName("Deve lançar EntityNotFoundException para categoria ou exclusão inexistente")
+    void deveLancarEntityNotFoundExceptionParaCategoriaOuExclusaoInexistente() {
+
+        assertThatThrownBy(() -> categoryDeletionService.deleteCategory(999L))
+                .isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> categoryDeletionService.getDeletion(999L))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+}
@@ -0,0 +1,103 @@
+package ms.productService.services;
+
+import ms.productService.entity.Category;
+import ms.productService.repositories.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CategoryNameResolverTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    private CategoryNameResolver categoryNameResolver;
+
+    private Category criarCategoria(Long id, String nome) {
+        Category categoria = new Category();
+        categoria.setId(id);
+        categoria.setName(nome);
+        return categoria;
+    }
+
+    @BeforeEach
+    void setUp() {
+        categoryNameResolver = new CategoryNameResolver(categoryRepository, Duration.ofMinutes(1));
+        when(categoryRepository.findAll()).thenReturn(List.of(criarCategoria(1L, "Livros"), criarCategoria(2L, "Games")));
+        categoryNameResolver.preload();
+    }
+
+    @Test
+    @DisplayName("Deve resolver categorias pré-carregadas sem consultar o banco")
+    void deveResolverCategoriasPreCarregadasSemConsultarOBanco() {
+
+        assertThat(categoryNameResolver.resolve("Livros")).contains(1L);
+        assertThat(categoryNameResolver.resolve("Games")).contains(2L);
+
+        verify(categoryRepository, never()).findIdByName(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve buscar no banco apenas uma vez uma categoria desconhecida")
+    void deveBuscarNoBancoApenasUmaVezCategoriaDesconhecida() {
+
+        when(categoryRepository.findIdByName("Moda")).thenReturn(Optional.of(3L));
+
+        assertThat(categoryNameResolver.resolve("Moda")).contains(3L);
+        assertThat(categoryNameResolver.resolve("Moda")).contains(3L);
+
+        verify(categoryRepository, times(1)).findIdByName("Moda");
+    }
+
+    @Test
+    @DisplayName("Deve acompanhar renomeação e exclusão de categorias")
+    void deveAcompanharRenomeacaoEExclusao() {
+
+        categoryNameResolver.rename(1L, "Livros", "Livros e Revistas");
+        categoryNameResolver.remove(2L, "Games");
+
+        when(categoryRepository.findIdByName(anyString())).thenReturn(Optional.empty());
+
+        assertThat(categoryNameResolver.resolve("Livros e Revistas")).contains(1L);
+        assertThat(categoryNameResolver.resolve("Livros")).isEmpty();
+        assertThat(categoryNameResolver.resolve("Games")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve reconsultar o banco depois do TTL e esquecer categorias excluídas por outra instância")
+    void deveReconsultarDepoisDoTtl() {
+
+        var semCache = new CategoryNameResolver(categoryRepository, Duration.ZERO);
+        semCache.preload();
+
+        when(categoryRepository.findIdByName("Livros"))
+                .thenReturn(Optional.of(1L))
+                .thenReturn(Optional.empty());
+
+        assertThat(semCache.resolve("Livros")).contains(1L);
+        assertThat(semCache.resolve("Livros")).isEmpty();
+        verify(categoryRepository, times(2)).findIdByName("Livros");
+    }
+
+    @Test
+    @DisplayName("Deve esquecer a categoria quando o id resolvido deixar de existir")
+    void deveEsquecerCategoria() {
+
+        when(categoryRepository.findIdByName("Livros")).thenReturn(Optional.empty());
+
+        categoryNameResolver.forget("Livros");
+
+        assertThat(categoryNameResolver.resolve("Livros")).isEmpty();
+    }
+}
@@ -0,0 +1,155 @@
+package ms.productService.services;
+
+import jakarta.persistence.EntityNotFoundException;
+import ms.productService.configs.CacheConfig;
+import ms.productService.dtos.CategoryDeletionDTO;
+import ms.productService.dtos.CategoryDeletionStatus;
+import ms.productService.entity.Category;
+import ms.productService.events.ChangeType;
+import ms.productService.events.ProductsChangedEvent;
+import ms.productService.repositories.CategoryRepository;
+import ms.productService.repositories.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CategoryServiceTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CategoryNameResolver categoryNameResolver;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CategoryDeletionService categoryDeletionService;
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.PRODUCTS, CacheConfig.CATEGORIES);
+
+    private CategoryService categoryService;
+
+    private Category category;
+    private Cache productCache;
+
+    private Category criarCategoria(Long id, String nome) {
+        Category categoria = new Category();
+        categoria.setId(id);
+        categoria.setName(nome);
+        categoria.setDescription("Descrição da " + nome);
+        categoria.setCreatedIn(LocalDateTime.now());
+        categoria.setUpdateIn(LocalDateTime.now());
+        return categoria;
+    }
+
+    @BeforeEach
+    void setUp() {
+        categoryService = new CategoryService(categoryRepository, productRepository, cacheManager, categoryNameResolver,
+                eventPublisher, categoryDeletionService, 2);
+        category = criarCategoria(1L, "Livros");
+
+        productCache = cacheManager.getCache(CacheConfig.PRODUCTS);
+        productCache.put(10L, "produto 10");
+        productCache.put(11L, "produto 11");
+        productCache.put(20L, "produto de outra categoria");
+    }
+
+    @Test
+    @DisplayName("Deve invalidar apenas os produtos da categoria quando o nome mudar")
+    void deveInvalidarProdutosDaCategoriaQuandoNomeMudar() {
+
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+        when(productRepository.findIdsByCategoryIdAfter(1L, 0L, Limit.of(2))).thenReturn(List.of(10L, 11L));
+
+        Category result = categoryService.updateCategory(1L, criarCategoria(null, "Livros e Revistas"));
+
+        assertThat(result.getName()).isEqualTo("Livros e Revistas");
+        assertThat(productCache.get(10L)).isNull();
+        assertThat(productCache.get(11L)).isNull();
+        assertThat(productCache.get(20L)).isNotNull();
+        verify(categoryNameResolver, times(1)).rename(1L, "Livros", "Livros e Revistas");
+    }
+
+    @Test
+    @DisplayName("Deve percorrer em lotes a categoria maior que o lote, publicando um evento por lote")
+    void devePercorrerCategoriaGrandeEmLotes() {
+
+        productCache.put(12L, "produto 12");
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+        when(productRepository.findIdsByCategoryIdAfter(1L, 0L, Limit.of(2))).thenReturn(List.of(10L, 11L));
+        when(productRepository.findIdsByCategoryIdAfter(1L, 11L, Limit.of(2))).thenReturn(List.of(12L));
+
+        categoryService.updateCategory(1L, criarCategoria(null, "Livros e Revistas"));
+
+        assertThat(productCache.get(12L)).isNull();
+        assertThat(productCache.get(20L)).isNotNull();
+        verify(eventPublisher).publishEvent(new ProductsChangedEvent(ChangeType.ATUALIZADO, List.of(10L, 11L)));
+        verify(eventPublisher).publishEvent(new ProductsChangedEvent(ChangeType.ATUALIZADO, List.of(12L)));
+        verify(productRepository, times(2)).findIdsByCategoryIdAfter(anyLong(), anyLong(), any());
+        verify(productRepository).incrementVersionByCategory(1L, 10L, 11L);
+        verify(productRepository).incrementVersionByCategory(1L, 12L, 12L);
+        verify(productRepository, never()).findIdsByCategoryId(anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve manter os produtos em cache quando apenas a descrição mudar")
+    void deveManterProdutosEmCacheQuandoApenasDescricaoMudar() {
+
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+
+        Category update = criarCategoria(null, "Livros");
+        update.setDescription("Nova descrição");
+
+        categoryService.updateCategory(1L, update);
+
+        assertThat(productCache.get(10L)).isNotNull();
+        verify(productRepository, never()).findIdsByCategoryIdAfter(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Deve delegar a exclusão da categoria sem carregar os produtos")
+    void deveDelegarExclusaoDaCategoria() {
+
+        var deletion = new CategoryDeletionDTO(5L, 1L, "Livros", CategoryDeletionStatus.EM_ANDAMENTO,
+                10_000, 0, 0.0, null, LocalDateTime.now(), null);
+        when(categoryDeletionService.deleteCategory(1L)).thenReturn(deletion);
+
+        assertThat(categoryService.deleteCategory(1L)).isEqualTo(deletion);
+        verify(categoryRepository, never()).deleteById(anyLong());
+        verify(productRepository, never()).findIdsByCategoryId(anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve lançar EntityNotFoundException quando a categoria não existir")
+    void deveLancarEntityNotFoundExceptionQuandoCategoriaNaoExistir() {
+
+        when(categoryRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> categoryService.getCategoryById(99L))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+}
@@ -0,0 +1,153 @@
+package ms.productService.services;
+
+import ms.productService.configs.RabbitMQConfig;
+import ms.productService.entity.OutboxEvent;
+import ms.productService.events.ChangeType;
+import ms.productService.repositories.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class OutboxRelayTest {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private RabbitTemplate rabbitTemplate;
+    private RabbitOperations operations;
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        operations = mock(RabbitOperations.class);
+        rabbitTemplate = publishingTo(operations);
+        outboxRelay = criarRelay(rabbitTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAllInBatch();
+    }
+
+    private OutboxRelay criarRelay(RabbitTemplate template) {
+        return new OutboxRelay(outboxEventRepository, template, transactionTemplate, 2, 1000, Duration.ofMinutes(1));
+    }
+
+    private static RabbitTemplate publishingTo(RabbitOperations operations) {
+        RabbitTemplate template = mock(RabbitTemplate.class);
+        when(template.invoke(any())).thenAnswer(invocation ->
+                invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(operations));
+        return template;
+    }
+
+    private List<Long> criarEventos(int quantidade) {
+        return IntStream.range(0, quantidade).mapToObj(i -> {
+            OutboxEvent evento = new OutboxEvent();
+            evento.setAggregateType(OutboxService.PRODUCT);
+            evento.setAggregateId(10L + i);
+            evento.setChangeType(ChangeType.ATUALIZADO);
+            evento.setPayload("{\"id\":" + (10 + i) + "}");
+            evento.setCreatedIn(LocalDateTime.now());
+            return outboxEventRepository.save(evento).getId();
+        }).toList();
+    }
+
+    @Test
+    @DisplayName("Deve publicar os lotes em um único canal e remover os eventos após a confirmação")
+    void devePublicarLotesERemoverAposConfirmacao() {
+
+        List<Long> ids = criarEventos(3);
+
+        outboxRelay.relay();
+
+        ArgumentCaptor<Message> mensagens = ArgumentCaptor.forClass(Message.class);
+        verify(operations, times(3)).send(eq(RabbitMQConfig.EXCHANGE_NAME), eq(RabbitMQConfig.ROUTING_KEY), mensagens.capture());
+        verify(operations, times(2)).waitForConfirmsOrDie(1000);
+        assertThat(outboxEventRepository.count()).isZero();
+
+        var primeira = mensagens.getAllValues().get(0);
+        assertThat(primeira.getMessageProperties().getMessageId()).isEqualTo(ids.get(0).toString());
+        assertThat(primeira.getMessageProperties().getType()).isEqualTo("product.atualizado");
+        assertThat(primeira.getMessageProperties().<Long>getHeader("aggregateId")).isEqualTo(10L);
+        assertThat(new String(primeira.getBody())).isEqualTo("{\"id\":10}");
+    }
+
+    @Test
+    @DisplayName("Deve manter e liberar os eventos no outbox quando o broker não confirmar o lote")
+    void deveManterEventosQuandoBrokerNaoConfirmar() {
+
+        criarEventos(2);
+        doThrow(new AmqpTimeoutException("timeout")).when(operations).waitForConfirmsOrDie(1000);
+
+        outboxRelay.relay();
+
+        assertThat(outboxEventRepository.findAll())
+                .hasSize(2)
+                .allSatisfy(evento -> assertThat(evento.getClaimedBy()).isNull());
+    }
+
+    @Test
+    @DisplayName("Deve publicar cada evento uma única vez com dois relays concorrentes")
+    void devePublicarCadaEventoUmaVezComRelaysConcorrentes() throws Exception {
+
+        List<Long> ids = criarEventos(4);
+        List<String> publicadas = new CopyOnWriteArrayList<>();
+        CountDownLatch loteReservado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+
+        // The first relay holds its claimed batch in flight until the second one has finished its run.
+        RabbitOperations lento = mock(RabbitOperations.class);
+        doAnswer(invocation -> {
+            publicadas.add(invocation.<Message>getArgument(2).getMessageProperties().getMessageId());
+            loteReservado.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(lento).send(anyString(), anyString(), any(Message.class));
+
+        RabbitOperations rapido = mock(RabbitOperations.class);
+        doAnswer(invocation -> publicadas.add(invocation.<Message>getArgument(2).getMessageProperties().getMessageId()))
+                .when(rapido).send(anyString(), anyString(), any(Message.class));
+
+        OutboxRelay primeiro = criarRelay(publishingTo(lento));
+        OutboxRelay segundo = criarRelay(publishingTo(rapido));
+
+        CompletableFuture<Void> emVoo = CompletableFuture.runAsync(primeiro::relay);
+        assertThat(loteReservado.await(5, TimeUnit.SECONDS)).isTrue();
+
+        segundo.relay();
+        liberar.countDown();
+        emVoo.get(5, TimeUnit.SECONDS);
+
+        assertThat(publicadas).containsExactlyInAnyOrderElementsOf(ids.stream().map(String::valueOf).toList());
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+}
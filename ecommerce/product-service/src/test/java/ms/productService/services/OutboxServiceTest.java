@@ -0,0 +1,146 @@
+package ms.productService.services;
+
+import ms.productService.configs.CacheConfig;
+import ms.productService.dtos.BulkStatusUpdateDTO;
+import ms.productService.dtos.StatusProduct;
+import ms.productService.entity.Category;
+import ms.productService.entity.OutboxEvent;
+import ms.productService.entity.Product;
+import ms.productService.events.ChangeType;
+import ms.productService.events.ProductsChangedEvent;
+import ms.productService.repositories.CategoryRepository;
+import ms.productService.repositories.OutboxEventRepository;
+import ms.productService.repositories.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@Import({OutboxService.class, ProductBulkService.class, CategoryProductCounter.class, CategoryNameResolver.class, CacheConfig.class})
+@ImportAutoConfiguration({ValidationAutoConfiguration.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class OutboxServiceTest {
+
+    @Autowired
+    private ProductBulkService productBulkService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Category categoria;
+
+    @BeforeEach
+    void setUp() {
+        categoria = new Category();
+        categoria.setName("Livros");
+        categoryRepository.save(categoria);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    private Product criarProduto(String nome) {
+        Product produto = new Product();
+        produto.setName(nome);
+        produto.setPrice(new BigDecimal("10.00"));
+        produto.setStatus(StatusProduct.ATIVO);
+        produto.setCreatedIn(LocalDateTime.now());
+        produto.setCategory(categoria);
+        return produto;
+    }
+
+    @Test
+    @DisplayName("Deve gravar o evento com o estado do produto na mesma transação da alteração")
+    void deveGravarEventoNaMesmaTransacao() {
+
+        var produto = transactionTemplate.execute(status -> {
+            var salvo = productRepository.save(criarProduto("Livro 1"));
+            eventPublisher.publishEvent(ProductsChangedEvent.created(salvo.getId()));
+            return salvo;
+        });
+
+        List<OutboxEvent> eventos = outboxEventRepository.findAll();
+
+        assertThat(eventos).hasSize(1);
+        assertThat(eventos.get(0).getAggregateType()).isEqualTo(OutboxService.PRODUCT);
+        assertThat(eventos.get(0).getAggregateId()).isEqualTo(produto.getId());
+        assertThat(eventos.get(0).getChangeType()).isEqualTo(ChangeType.CRIADO);
+        assertThat(eventos.get(0).getPayload()).contains("\"name\":\"Livro 1\"", "\"categoryName\":\"Livros\"");
+    }
+
+    @Test
+    @DisplayName("Deve descartar o evento quando a transação da alteração for revertida")
+    void deveDescartarEventoQuandoTransacaoForRevertida() {
+
+        transactionTemplate.executeWithoutResult(status -> {
+            var salvo = productRepository.save(criarProduto("Livro 1"));
+            eventPublisher.publishEvent(ProductsChangedEvent.created(salvo.getId()));
+            status.setRollbackOnly();
+        });
+
+        assertThat(productRepository.count()).isZero();
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve exigir uma transação ativa para gravar eventos")
+    void deveExigirTransacaoAtiva() {
+
+        assertThatThrownBy(() -> eventPublisher.publishEvent(ProductsChangedEvent.deleted(1L)))
+                .isInstanceOf(IllegalTransactionStateException.class);
+    }
+
+    @Test
+    @DisplayName("Deve gravar um evento por produto nas atualizações em massa")
+    void deveGravarUmEventoPorProdutoNasAtualizacoesEmMassa() {
+
+        var ids = productRepository.saveAll(List.of(criarProduto("Livro 1"), criarProduto("Livro 2"))).stream()
+                .map(Product::getId)
+                .toList();
+
+        productBulkService.updateStatus(new BulkStatusUpdateDTO(ids, StatusProduct.INATIVO));
+
+        assertThat(outboxEventRepository.findAll())
+                .extracting(OutboxEvent::getAggregateId, OutboxEvent::getChangeType)
+                .containsExactlyInAnyOrder(
+                        tuple(ids.get(0), ChangeType.ATUALIZADO),
+                        tuple(ids.get(1), ChangeType.ATUALIZADO));
+        assertThat(outboxEventRepository.findAll()).allMatch(e -> e.getPayload().contains("\"status\":\"INATIVO\""));
+    }
+}
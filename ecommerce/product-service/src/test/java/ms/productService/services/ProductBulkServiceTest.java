@@ -0,0 +1,299 @@
+package ms.productService.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ms.productService.configs.CacheConfig;
+import ms.productService.dtos.BulkImportReport;
+import ms.productService.dtos.BulkPriceUpdateDTO;
+import ms.productService.dtos.BulkStatusUpdateDTO;
+import ms.productService.dtos.ImportStatus;
+import ms.productService.dtos.ProductFeedUpdateDTO;
+import ms.productService.dtos.ProductRequestDTO;
+import ms.productService.dtos.StatusProduct;
+import ms.productService.entity.Category;
+import ms.productService.repositories.CategoryRepository;
+import ms.productService.repositories.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "product.bulk.batch-size=500")
+@Import({ProductBulkService.class, CategoryProductCounter.class, CategoryNameResolver.class, CacheConfig.class})
+@ImportAutoConfiguration({ValidationAutoConfiguration.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ProductBulkServiceTest {
+
+    @Autowired
+    private ProductBulkService productBulkService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryNameResolver categoryNameResolver;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CategoryProductCounter categoryProductCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        Category categoria = new Category();
+        categoria.setName("Livros");
+        categoryRepository.save(categoria);
+        categoryNameResolver.register(categoria);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    private ProductRequestDTO criarProduto(String nome, String categoria) {
+        return new ProductRequestDTO(nome, "Descrição do " + nome, new BigDecimal("10.00"), StatusProduct.ATIVO, categoria);
+    }
+
+    private BulkImportReport importarJson(List<ProductRequestDTO> produtos) throws Exception {
+        return productBulkService.importProducts(new ByteArrayInputStream(objectMapper.writeValueAsBytes(produtos)));
+    }
+
+    @Test
+    @DisplayName("Deve importar linhas válidas e relatar o motivo de cada linha rejeitada")
+    void deveImportarLinhasValidasERelatarRejeitadas() throws Exception {
+
+        var report = importarJson(List.of(
+                criarProduto("Livro 1", "Livros"),
+                criarProduto("Livro 2", "Categoria Inexistente"),
+                criarProduto("Livro 1", "Livros"),
+                new ProductRequestDTO("Livro 3", null, null, StatusProduct.ATIVO, "Livros"),
+                criarProduto("Livro 4", "Livros")
+        ));
+
+        assertThat(report.received()).isEqualTo(5);
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.rejected()).isEqualTo(3);
+        assertThat(report.rows()).extracting(r -> r.status()).containsExactly(
+                ImportStatus.IMPORTADO, ImportStatus.REJEITADO, ImportStatus.REJEITADO,
+                ImportStatus.REJEITADO, ImportStatus.IMPORTADO);
+        assertThat(report.rows().get(0).id()).isNotNull();
+        assertThat(report.rows().get(1).id()).isNull();
+        assertThat(report.rows().get(1).message()).isEqualTo("Categoria não encontrada.");
+        assertThat(report.rows().get(2).message()).isEqualTo("Produto duplicado na importação.");
+        assertThat(report.rows().get(3).message()).isEqualTo("O preço é obrigatório.");
+        assertThat(productRepository.count()).isEqualTo(2);
+        assertThat(productRepository.findAllResponsesByCategoryName("Livros")).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar produtos já cadastrados e aceitar NDJSON")
+    void deveRejeitarProdutosJaCadastradosEAceitarNdjson() throws Exception {
+
+        importarJson(List.of(criarProduto("Livro 1", "Livros")));
+
+        String ndjson = objectMapper.writeValueAsString(criarProduto("Livro 1", "Livros")) + "\n"
+                + objectMapper.writeValueAsString(criarProduto("Livro 2", "Livros")) + "\n";
+
+        var report = productBulkService.importProducts(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.rows().get(0).message()).isEqualTo("Produto já cadastrado.");
+        assertThat(productRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve interromper a importação em conteúdo inválido mantendo os lotes anteriores")
+    void deveInterromperImportacaoEmConteudoInvalido() {
+
+        String ndjson = "{\"name\":\"Livro 1\",\"price\":10,\"status\":\"ATIVO\",\"categoryName\":\"Livros\"}\n{\"name\":";
+
+        var report = productBulkService.importProducts(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.rejected()).isEqualTo(1);
+        assertThat(report.rows().get(1).index()).isEqualTo(1);
+        assertThat(productRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve inativar produtos em lote e invalidar o cache")
+    void deveInativarProdutosEmLoteEInvalidarOCache() throws Exception {
+
+        importarJson(List.of(criarProduto("Livro 1", "Livros"), criarProduto("Livro 2", "Livros"),
+                criarProduto("Livro 3", "Livros")));
+        List<Long> ids = productRepository.findAll().stream().map(p -> p.getId()).sorted().toList();
+
+        cacheManager.getCache(CacheConfig.PRODUCTS).put(ids.get(0), "produto em cache");
+
+        var report = productBulkService.updateStatus(new BulkStatusUpdateDTO(List.of(ids.get(0), ids.get(1)), StatusProduct.INATIVO));
+
+        assertThat(report.updated()).isEqualTo(2);
+        assertThat(productRepository.findById(ids.get(0)).get().getStatus()).isEqualTo(StatusProduct.INATIVO);
+        assertThat(productRepository.findById(ids.get(0)).get().getUpdatedIn()).isNotNull();
+        assertThat(productRepository.findById(ids.get(2)).get().getStatus()).isEqualTo(StatusProduct.ATIVO);
+        assertThat(cacheManager.getCache(CacheConfig.PRODUCTS).get(ids.get(0))).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve aplicar reajuste percentual a todos os produtos da categoria")
+    void deveAplicarReajustePercentualNaCategoria() throws Exception {
+
+        importarJson(List.of(criarProduto("Livro 1", "Livros"), criarProduto("Livro 2", "Livros")));
+
+        var report = productBulkService.updatePrice(new BulkPriceUpdateDTO(null, "Livros", new BigDecimal("5")));
+
+        assertThat(report.updated()).isEqualTo(2);
+        assertThat(productRepository.findAll()).allMatch(p -> p.getPrice().compareTo(new BigDecimal("10.50")) == 0);
+    }
+
+    @Test
+    @DisplayName("Deve reajustar a categoria em vários lotes sem alterar produtos de outras categorias")
+    void deveReajustarCategoriaEmVariosLotes() throws Exception {
+
+        Category moda = new Category();
+        moda.setName("Moda");
+        categoryRepository.save(moda);
+        categoryNameResolver.register(moda);
+
+        List<ProductRequestDTO> produtos = new ArrayList<>();
+        for (int i = 0; i < 1_200; i++) {
+            produtos.add(criarProduto("Produto " + i, i % 3 == 0 ? "Moda" : "Livros"));
+        }
+        importarJson(produtos);
+
+        Long ultimoLivro = productRepository.findIdsByCategoryId(categoryNameResolver.resolve("Livros").get()).stream()
+                .max(Long::compare).orElseThrow();
+        cacheManager.getCache(CacheConfig.PRODUCTS).put(ultimoLivro, "produto em cache");
+
+        var report = productBulkService.updatePrice(new BulkPriceUpdateDTO(null, "Livros", new BigDecimal("5")));
+
+        assertThat(report.requested()).isEqualTo(800);
+        assertThat(report.updated()).isEqualTo(800);
+        assertThat(productRepository.findAllResponsesByCategoryName("Livros"))
+                .allMatch(p -> p.price().compareTo(new BigDecimal("10.50")) == 0);
+        assertThat(productRepository.findAllResponsesByCategoryName("Moda"))
+                .allMatch(p -> p.price().compareTo(new BigDecimal("10.00")) == 0);
+        assertThat(cacheManager.getCache(CacheConfig.PRODUCTS).get(ultimoLivro)).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve aplicar o lote do feed em uma transação, consolidando mensagens do mesmo produto")
+    void deveAplicarLoteDoFeedConsolidandoMensagens() throws Exception {
+
+        importarJson(List.of(criarProduto("Livro 1", "Livros"), criarProduto("Livro 2", "Livros")));
+        List<Long> ids = productRepository.findAll().stream().map(p -> p.getId()).sorted().toList();
+
+        cacheManager.getCache(CacheConfig.PRODUCTS).put(ids.get(0), "produto em cache");
+
+        var updated = productBulkService.applyFeed(List.of(
+                new ProductFeedUpdateDTO(ids.get(0), new BigDecimal("15.00"), null),
+                new ProductFeedUpdateDTO(ids.get(0), null, StatusProduct.INATIVO),
+                new ProductFeedUpdateDTO(ids.get(1), new BigDecimal("20.00"), null),
+                new ProductFeedUpdateDTO(999_999L, new BigDecimal("1.00"), null)));
+
+        var primeiro = productRepository.findById(ids.get(0)).get();
+        var segundo = productRepository.findById(ids.get(1)).get();
+
+        assertThat(updated).containsExactly(ids.get(0), ids.get(1));
+        assertThat(primeiro.getPrice()).isEqualByComparingTo("15.00");
+        assertThat(primeiro.getStatus()).isEqualTo(StatusProduct.INATIVO);
+        assertThat(primeiro.getUpdatedIn()).isNotNull();
+        assertThat(segundo.getPrice()).isEqualByComparingTo("20.00");
+        assertThat(segundo.getStatus()).isEqualTo(StatusProduct.ATIVO);
+        assertThat(cacheManager.getCache(CacheConfig.PRODUCTS).get(ids.get(0))).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve manter a contagem de produtos ativos por categoria em importações, status e feed")
+    void deveManterContagemDeProdutosAtivosPorCategoria() throws Exception {
+
+        Category moda = new Category();
+        moda.setName("Moda");
+        categoryRepository.save(moda);
+        categoryNameResolver.register(moda);
+
+        importarJson(List.of(criarProduto("Livro 1", "Livros"), criarProduto("Livro 2", "Livros"),
+                criarProduto("Camisa", "Moda"),
+                new ProductRequestDTO("Livro 3", null, BigDecimal.TEN, StatusProduct.INATIVO, "Livros")));
+        assertThat(contagens()).containsExactly(2L, 1L);
+
+        List<Long> livros = productRepository.findIdsByCategoryId(categoryNameResolver.resolve("Livros").get());
+        productBulkService.updateStatus(new BulkStatusUpdateDTO(livros, StatusProduct.INATIVO));
+        assertThat(contagens()).containsExactly(0L, 1L);
+
+        productBulkService.updateStatus(new BulkStatusUpdateDTO(livros, StatusProduct.INATIVO));
+        assertThat(contagens()).containsExactly(0L, 1L);
+
+        productBulkService.applyFeed(livros.stream()
+                .map(id -> new ProductFeedUpdateDTO(id, null, StatusProduct.ATIVO))
+                .toList());
+        assertThat(contagens()).containsExactly(3L, 1L);
+
+        jdbcTemplate.update("update tb_category set active_product_count = 42");
+        categoryProductCounter.reconcile();
+        assertThat(contagens()).containsExactly(3L, 1L);
+    }
+
+    private List<Long> contagens() {
+        return categoryRepository.findAllSummaries().stream().map(c -> c.activeProductCount()).toList();
+    }
+
+    @Test
+    @DisplayName("Deve lançar ResponseStatusException (404) no reajuste de categoria inexistente")
+    void deveLancarResponseStatusExceptionNoReajusteDeCategoriaInexistente() {
+
+        assertThatThrownBy(() -> productBulkService.updatePrice(new BulkPriceUpdateDTO(null, "Moda", BigDecimal.TEN)))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Categoria não encontrada.");
+    }
+
+    @Test
+    @DisplayName("Deve importar um catálogo grande em lotes sem rejeições")
+    void deveImportarCatalogoGrandeEmLotes() throws Exception {
+
+        List<ProductRequestDTO> produtos = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            produtos.add(criarProduto("Produto " + i, "Livros"));
+        }
+
+        var report = importarJson(produtos);
+
+        assertThat(report.received()).isEqualTo(20_000);
+        assertThat(report.imported()).isEqualTo(20_000);
+        assertThat(report.rejected()).isZero();
+        assertThat(report.rowsPerSecond()).isPositive();
+        assertThat(productRepository.count()).isEqualTo(20_000);
+        assertThat(contagens()).containsExactly(20_000L);
+    }
+}
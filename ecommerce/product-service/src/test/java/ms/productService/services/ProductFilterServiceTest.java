@@ -0,0 +1,143 @@
+package ms.productService.services;
+
+import ms.productService.dtos.PriceRangeCount;
+import ms.productService.dtos.ProductFilterDTO;
+import ms.productService.dtos.ProductFilterResponse;
+import ms.productService.dtos.ProductResponseDTO;
+import ms.productService.dtos.StatusProduct;
+import ms.productService.events.ChangeType;
+import ms.productService.events.ProductsChangedEvent;
+import ms.productService.repositories.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductFilterServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductFilterService productFilterService;
+
+    private ProductIndexLoader productIndexLoader;
+
+    private ProductResponseDTO criarProduto(Long id, String categoria, StatusProduct status, String preco) {
+        return new ProductResponseDTO(id, "Produto " + id, null, new BigDecimal(preco), status,
+                LocalDateTime.now(), null, categoria, 0);
+    }
+
+    @BeforeEach
+    void setUp() {
+        productFilterService = new ProductFilterService(productRepository,
+                List.of(new BigDecimal("50"), new BigDecimal("100")));
+        productIndexLoader = new ProductIndexLoader(productRepository, List.of(productFilterService));
+
+        when(productRepository.streamAllResponses()).thenReturn(Stream.of(
+                criarProduto(1L, "Livros", StatusProduct.ATIVO, "30.00"),
+                criarProduto(2L, "Livros", StatusProduct.ATIVO, "50.00"),
+                criarProduto(3L, "Livros", StatusProduct.INATIVO, "80.00"),
+                criarProduto(4L, "Games", StatusProduct.ATIVO, "250.00"),
+                criarProduto(5L, "Games", StatusProduct.ATIVO, "30.00")
+        ));
+
+        productIndexLoader.rebuild();
+    }
+
+    @Test
+    @DisplayName("Deve calcular as contagens de cada faceta ignorando a própria seleção")
+    void deveCalcularContagensDasFacetas() {
+
+        when(productRepository.findResponsesByFilter(any(), any(Pageable.class))).thenReturn(List.of());
+
+        ProductFilterResponse response = productFilterService.filterProducts(
+                new ProductFilterDTO(List.of("Livros"), List.of(StatusProduct.ATIVO), null, null), 0, 10);
+
+        assertThat(response.products().getTotalElements()).isEqualTo(2L);
+        assertThat(response.facets().categories()).isEqualTo(Map.of("Livros", 2L, "Games", 2L));
+        assertThat(response.facets().statuses()).isEqualTo(Map.of(StatusProduct.ATIVO, 2L, StatusProduct.INATIVO, 1L));
+        assertThat(response.facets().priceRanges()).containsExactly(
+                new PriceRangeCount(null, new BigDecimal("50"), 1),
+                new PriceRangeCount(new BigDecimal("50"), new BigDecimal("100"), 1),
+                new PriceRangeCount(new BigDecimal("100"), null, 0));
+
+        verify(productRepository, never()).count();
+    }
+
+    @Test
+    @DisplayName("Deve aplicar a faixa de preço inclusiva no total e nas facetas")
+    void deveAplicarFaixaDePreco() {
+
+        when(productRepository.findResponsesByFilter(any(), any(Pageable.class))).thenReturn(List.of());
+
+        ProductFilterResponse response = productFilterService.filterProducts(
+                new ProductFilterDTO(null, null, new BigDecimal("30"), new BigDecimal("50")), 0, 2);
+
+        assertThat(response.products().getTotalElements()).isEqualTo(3L);
+        assertThat(response.products().getTotalPages()).isEqualTo(2);
+        assertThat(response.facets().categories()).isEqualTo(Map.of("Livros", 2L, "Games", 1L));
+    }
+
+    @Test
+    @DisplayName("Deve atualizar as contagens a partir dos eventos de alteração sem consultar o banco na leitura")
+    void deveAtualizarContagensIncrementalmente() {
+
+        when(productRepository.findAllResponsesByIdIn(List.of(1L, 4L)))
+                .thenReturn(List.of(criarProduto(1L, "Livros", StatusProduct.INATIVO, "30.00")));
+
+        productIndexLoader.onProductsChanged(new ProductsChangedEvent(ChangeType.ATUALIZADO, List.of(1L, 4L)));
+
+        ProductFilterResponse response = productFilterService.filterProducts(
+                new ProductFilterDTO(List.of("Games"), null, null, null), 0, 10);
+
+        assertThat(response.products().getTotalElements()).isEqualTo(1L);
+        assertThat(response.facets().statuses()).isEqualTo(Map.of(StatusProduct.ATIVO, 1L));
+        assertThat(response.facets().categories()).isEqualTo(Map.of("Livros", 3L, "Games", 1L));
+    }
+
+    @Test
+    @DisplayName("Deve contar faixas de preço arbitrárias como uma varredura de todos os produtos")
+    void deveContarFaixasArbitrariasComoVarredura() {
+
+        when(productRepository.findResponsesByFilter(any(), any(Pageable.class))).thenReturn(List.of());
+
+        var random = new Random(42);
+        List<ProductResponseDTO> produtos = LongStream.rangeClosed(1, 300)
+                .mapToObj(id -> criarProduto(id, random.nextBoolean() ? "Livros" : "Games", StatusProduct.ATIVO,
+                        BigDecimal.valueOf(random.nextInt(160) * 5, 1).toPlainString()))
+                .toList();
+        when(productRepository.streamAllResponses()).thenReturn(produtos.stream());
+        productIndexLoader.rebuild();
+
+        for (int i = 0; i < 200; i++) {
+            BigDecimal min = random.nextInt(4) == 0 ? null : BigDecimal.valueOf(random.nextInt(130));
+            BigDecimal max = random.nextInt(4) == 0 ? null : BigDecimal.valueOf(random.nextInt(130));
+
+            long esperado = produtos.stream()
+                    .filter(p -> min == null || p.price().compareTo(min) >= 0)
+                    .filter(p -> max == null || p.price().compareTo(max) <= 0)
+                    .count();
+
+            ProductFilterResponse response = productFilterService.filterProducts(
+                    new ProductFilterDTO(null, null, min, max), 0, 10);
+
+            assertThat(response.products().getTotalElements()).as("faixa %s a %s", min, max).isEqualTo(esperado);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package ms.productService.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ms.productService.configs.CacheConfig;
+import ms.productService.dtos.ProductResponseDTO;
+import ms.productService.dtos.StatusProduct;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProductPayloadCacheTest {
+
+    private ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.PRODUCT_PAYLOADS);
+
+    private ProductResponseDTO criarProduto(String descricao) {
+        return new ProductResponseDTO(1L, "Notebook", descricao, new BigDecimal("4500.00"),
+                StatusProduct.ATIVO, LocalDateTime.of(2025, 1, 1, 10, 0), null, "Eletrônicos", 0);
+    }
+
+    @Test
+    @DisplayName("Deve reutilizar os bytes serializados enquanto a versão do produto não mudar")
+    void deveReutilizarBytesDaMesmaVersao() throws Exception {
+
+        var cache = new ProductPayloadCache(cacheManager, objectMapper, 1024);
+        var produto = criarProduto("Notebook gamer");
+
+        var primeiro = cache.payloadOf(produto, "\"v1\"");
+
+        assertThat(cache.payloadOf(produto, "\"v1\"")).isSameAs(primeiro);
+        assertThat(primeiro.json()).isEqualTo(objectMapper.writeValueAsBytes(produto));
+        assertThat(primeiro.gzip()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve serializar de novo quando a versão do produto mudar")
+    void deveSerializarDeNovoQuandoVersaoMudar() throws Exception {
+
+        var cache = new ProductPayloadCache(cacheManager, objectMapper, 1024);
+
+        cache.payloadOf(criarProduto("Notebook gamer"), "\"v1\"");
+        var atualizado = cache.payloadOf(criarProduto("Notebook gamer 2025"), "\"v2\"");
+
+        assertThat(atualizado.version()).isEqualTo("\"v2\"");
+        assertThat(objectMapper.readValue(atualizado.json(), ProductResponseDTO.class).description()).isEqualTo("Notebook gamer 2025");
+    }
+
+    @Test
+    @DisplayName("Deve guardar a versão comprimida de payloads acima do limite")
+    void deveComprimirPayloadsGrandes() throws Exception {
+
+        var cache = new ProductPayloadCache(cacheManager, objectMapper, 256);
+
+        var payload = cache.payloadOf(criarProduto("Notebook gamer ".repeat(50)), "\"v1\"");
+
+        assertThat(payload.gzip()).isNotNull();
+        assertThat(payload.gzip().length).isLessThan(payload.json().length);
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(payload.gzip()))) {
+            assertThat(in.readAllBytes()).isEqualTo(payload.json());
+        }
+    }
+}
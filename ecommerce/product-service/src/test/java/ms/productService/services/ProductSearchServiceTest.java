@@ -0,0 +1,103 @@
+package ms.productService.services;
+
+import ms.productService.dtos.ProductResponseDTO;
+import ms.productService.dtos.StatusProduct;
+import ms.productService.events.ChangeType;
+import ms.productService.events.ProductsChangedEvent;
+import ms.productService.repositories.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductSearchServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductSearchService productSearchService = new ProductSearchService();
+
+    private ProductIndexLoader productIndexLoader;
+
+    private ProductResponseDTO criarProduto(Long id, String nome, String descricao) {
+        return new ProductResponseDTO(id, nome, descricao, BigDecimal.TEN, StatusProduct.ATIVO,
+                LocalDateTime.now(), null, "Cozinha", 0);
+    }
+
+    @BeforeEach
+    void setUp() {
+        productIndexLoader = new ProductIndexLoader(productRepository, List.of(productSearchService));
+
+        when(productRepository.streamAllResponses()).thenReturn(Stream.of(
+                criarProduto(1L, "Café Torrado Especial", "Grãos selecionados do cerrado mineiro"),
+                criarProduto(2L, "Cafeteira Elétrica", "Prepara até 30 xícaras de café"),
+                criarProduto(3L, "Chaleira de Inox", "Aquecimento rápido para chá"),
+                criarProduto(4L, "Açúcar Mascavo", "Ideal para adoçar o café da manhã")
+        ));
+
+        productIndexLoader.rebuild();
+    }
+
+    @Test
+    @DisplayName("Deve ignorar acentos e maiúsculas na busca")
+    void deveIgnorarAcentosEMaiusculas() {
+
+        assertThat(productSearchService.search("ACUCAR", 10)).extracting(ProductResponseDTO::id).containsExactly(4L);
+        assertThat(productSearchService.search("chá", 10)).extracting(ProductResponseDTO::id).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("Deve ranquear ocorrências no nome acima de ocorrências na descrição")
+    void deveRanquearNomeAcimaDaDescricao() {
+
+        List<ProductResponseDTO> resultado = productSearchService.search("cafe", 10);
+
+        assertThat(resultado).extracting(ProductResponseDTO::id).startsWith(1L);
+        assertThat(resultado).extracting(ProductResponseDTO::id).contains(2L, 4L);
+    }
+
+    @Test
+    @DisplayName("Deve exigir todos os termos e completar o último como prefixo")
+    void deveExigirTodosOsTermosECompletarPrefixo() {
+
+        assertThat(productSearchService.search("cafe torr", 10)).extracting(ProductResponseDTO::id).containsExactly(1L);
+        assertThat(productSearchService.search("chaleira cafe", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve atualizar o índice incrementalmente a partir dos eventos de alteração")
+    void deveAtualizarIndiceIncrementalmente() {
+
+        when(productRepository.findAllResponsesByIdIn(List.of(3L, 5L)))
+                .thenReturn(List.of(criarProduto(5L, "Moedor de Café", "Moagem ajustável")));
+
+        productIndexLoader.onProductsChanged(new ProductsChangedEvent(ChangeType.ATUALIZADO, List.of(3L, 5L)));
+
+        assertThat(productSearchService.search("chaleira", 10)).isEmpty();
+        assertThat(productSearchService.search("moedor", 10)).extracting(ProductResponseDTO::id).containsExactly(5L);
+        assertThat(productSearchService.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Deve lançar ResponseStatusException (400) para busca sem termos")
+    void deveLancarResponseStatusExceptionParaBuscaSemTermos() {
+
+        assertThatThrownBy(() -> productSearchService.search(" de ", 10))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasFieldOrPropertyWithValue("status", HttpStatus.BAD_REQUEST);
+    }
+}
@@ -1,10 +1,17 @@
 package ms.productService.services;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ms.productService.dtos.PaginatedResponse;
+import ms.productService.configs.CacheConfig;
+import ms.productService.dtos.ProductCursor;
+import ms.productService.dtos.ProductLookupResult;
 import ms.productService.dtos.ProductRequestDTO;
 import ms.productService.dtos.ProductResponseDTO;
+import ms.productService.dtos.ResourceValidator;
 import ms.productService.dtos.StatusProduct;
 import ms.productService.entity.Category;
 import ms.productService.entity.Product;
+import ms.productService.events.ProductsChangedEvent;
 import ms.productService.repositories.CategoryRepository;
 import ms.productService.repositories.ProductRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,15 +20,31 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
@@ -37,6 +60,21 @@ public class ProductServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private CategoryNameResolver categoryNameResolver;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CategoryProductCounter categoryProductCounter;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.PRODUCTS);
+
     @InjectMocks
     private ProductService productService;
 
@@ -82,26 +120,175 @@ public class ProductServiceTest {
 
 
         productResponseDT1 = new ProductResponseDTO(
+                product1.getId(),
                 product1.getName(),
                 product1.getDescription(),
                 product1.getPrice(),
                 product1.getStatus(),
                 product1.getCreatedIn(),
                 product1.getUpdatedIn(),
-                product1.getCategory().getName()
+                product1.getCategory().getName(),
+                product1.getVersion()
         );
 
         productResponseDT2 = new ProductResponseDTO(
+                product2.getId(),
                 product2.getName(),
                 product2.getDescription(),
                 product2.getPrice(),
                 product2.getStatus(),
                 product2.getCreatedIn(),
                 product2.getUpdatedIn(),
-                product2.getCategory().getName()
+                product2.getCategory().getName(),
+                product2.getVersion()
         );
     }
 
+    @Test
+    @DisplayName("Deve buscar vários produtos com uma consulta, na ordem pedida e marcando os inexistentes")
+    void deveBuscarVariosProdutosNaOrdemPedida() {
+
+        cacheManager.getCache(CacheConfig.PRODUCTS).put(2L, productResponseDT2);
+        when(productRepository.findAllResponsesByIdIn(Set.of(1L, 99L))).thenReturn(List.of(productResponseDT1));
+
+        List<ProductLookupResult> result = productService.getProductsByIds(List.of(2L, 99L, 1L, 2L));
+
+        assertEquals(List.of(
+                ProductLookupResult.found(productResponseDT2),
+                ProductLookupResult.notFound(99L),
+                ProductLookupResult.found(productResponseDT1),
+                ProductLookupResult.found(productResponseDT2)), result);
+        assertThat(cacheManager.getCache(CacheConfig.PRODUCTS).get(1L).get()).isEqualTo(productResponseDT1);
+        verify(productRepository, times(1)).findAllResponsesByIdIn(any());
+        verify(productRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve recusar a busca em lote acima do limite de ids")
+    void deveRecusarBuscaEmLoteAcimaDoLimite() {
+
+        List<Long> ids = LongStream.rangeClosed(1, ProductService.MAX_LOOKUP_IDS + 1).boxed().toList();
+
+        assertThatThrownBy(() -> productService.getProductsByIds(ids))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("no máximo");
+        verifyNoInteractions(productRepository);
+    }
+
+    private ProductRequestDTO atualizacao(String categoria) {
+        return new ProductRequestDTO("Produto 1 revisado", "Nova descrição", new BigDecimal("120.00"),
+                StatusProduct.INATIVO, categoria);
+    }
+
+    @Test
+    @DisplayName("Deve atualizar o produto com uma leitura e responder com o estado gravado")
+    void deveAtualizarProdutoComUmaLeitura() {
+
+        String eTag = ResourceValidator.of(productResponseDT1).eTag();
+        when(productRepository.findWithCategoryById(1L)).thenReturn(Optional.of(product1));
+        when(categoryNameResolver.resolve("Categoria 1")).thenReturn(Optional.of(1L));
+        when(categoryRepository.getReferenceById(1L)).thenReturn(category);
+
+        ProductResponseDTO result = productService.updateProduct(1L, atualizacao("Categoria 1"), eTag);
+
+        assertEquals("Produto 1 revisado", result.name());
+        assertEquals(StatusProduct.INATIVO, result.status());
+        assertEquals("Categoria 1", result.categoryName());
+        verify(productRepository, times(1)).saveAndFlush(product1);
+        verify(productRepository, never()).findById(anyLong());
+        verify(eventPublisher, times(1)).publishEvent(ProductsChangedEvent.updated(1L));
+    }
+
+    @Test
+    @DisplayName("Deve aceitar no If-Match o validador recebido na resposta gzip")
+    void deveAceitarValidadorGzipNoIfMatch() {
+
+        String eTag = ResourceValidator.of(productResponseDT1).gzipETag();
+        when(productRepository.findWithCategoryById(1L)).thenReturn(Optional.of(product1));
+        when(categoryNameResolver.resolve("Categoria 1")).thenReturn(Optional.of(1L));
+        when(categoryRepository.getReferenceById(1L)).thenReturn(category);
+
+        productService.updateProduct(1L, atualizacao("Categoria 1"), eTag);
+
+        verify(productRepository, times(1)).saveAndFlush(product1);
+    }
+
+    @Test
+    @DisplayName("Deve lançar ResponseStatusException (412) quando o If-Match não corresponder")
+    void deveLancarResponseStatusExceptionQuandoIfMatchNaoCorresponder() {
+
+        when(productRepository.findWithCategoryById(1L)).thenReturn(Optional.of(product1));
+
+        assertThatThrownBy(() -> productService.updateProduct(1L, atualizacao("Categoria 1"), "\"1-7\""))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                .isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        verify(productRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar ResponseStatusException (409) quando outra requisição gravar antes")
+    void deveLancarResponseStatusExceptionEmAtualizacaoConcorrente() {
+
+        when(productRepository.findWithCategoryById(1L)).thenReturn(Optional.of(product1));
+        when(categoryNameResolver.resolve("Categoria 1")).thenReturn(Optional.of(1L));
+        when(categoryRepository.getReferenceById(1L)).thenReturn(category);
+        when(productRepository.saveAndFlush(product1))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Product.class, 1L));
+
+        assertThatThrownBy(() -> productService.updateProduct(1L, atualizacao("Categoria 1"), null))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                .isEqualTo(HttpStatus.CONFLICT);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar ResponseStatusException (404) ao atualizar para categoria inexistente")
+    void deveLancarResponseStatusExceptionAoAtualizarParaCategoriaInexistente() {
+
+        when(productRepository.findWithCategoryById(1L)).thenReturn(Optional.of(product1));
+        when(categoryNameResolver.resolve("Moda")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> productService.updateProduct(1L, atualizacao("Moda"), null))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Categoria não encontrada.");
+        verify(productRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar ResponseStatusException (404) quando a categoria resolvida foi excluída por outra instância")
+    void deveLancarResponseStatusExceptionQuandoCategoriaResolvidaFoiExcluida() {
+
+        when(categoryNameResolver.resolve("Eletronicos")).thenReturn(Optional.of(1L));
+        when(categoryRepository.getReferenceById(1L)).thenReturn(category);
+        when(productRepository.save(any(Product.class))).thenThrow(new DataIntegrityViolationException("fk",
+                new SQLException("Referential integrity constraint violation", "23506", 23506)));
+
+        assertThatThrownBy(() -> productService.createProduct(new ProductRequestDTO("Novo Produto", null,
+                new BigDecimal("100.00"), StatusProduct.ATIVO, "Eletronicos")))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasFieldOrPropertyWithValue("status", HttpStatus.NOT_FOUND);
+
+        verify(categoryNameResolver).forget("Eletronicos");
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Deve propagar violações de integridade que não sejam de categoria ausente")
+    void devePropagarOutrasViolacoesDeIntegridade() {
+
+        var violacao = new DataIntegrityViolationException("unique",
+                new SQLException("Duplicate entry", "23000", 1062));
+
+        when(productRepository.findWithCategoryById(1L)).thenReturn(Optional.of(product1));
+        when(categoryNameResolver.resolve("Moda")).thenReturn(Optional.of(2L));
+        when(productRepository.saveAndFlush(any(Product.class))).thenThrow(violacao);
+
+        assertThatThrownBy(() -> productService.updateProduct(1L, atualizacao("Moda"), null)).isSameAs(violacao);
+        verify(categoryNameResolver, never()).forget(anyString());
+    }
+
     @Test
     @DisplayName("Deve criar produto com sucesso quando a categoria existir")
     void deveCriarProdutoComSucesso() {
@@ -118,8 +305,9 @@ public class ProductServiceTest {
 
         //Act
 
-        when(categoryRepository.findByName("Eletronicos")).thenReturn(Optional.of(category));
-        when(productRepository.save(any(Product.class))).thenReturn(new Product());
+        when(categoryNameResolver.resolve("Eletronicos")).thenReturn(Optional.of(1L));
+        when(categoryRepository.getReferenceById(1L)).thenReturn(category);
+        when(productRepository.save(any(Product.class))).thenReturn(product1);
 
         ResponseEntity<Void> result = productService.createProduct(productRequestDTO);
 
@@ -129,7 +317,9 @@ public class ProductServiceTest {
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.CREATED);
 
         verify(productRepository, times(1)).save(any(Product.class));
-        verify(categoryRepository, times(1)).findByName("Eletronicos");
+        verify(categoryNameResolver, times(1)).resolve("Eletronicos");
+        verify(categoryRepository, never()).findByName(anyString());
+        verify(eventPublisher, times(1)).publishEvent(ProductsChangedEvent.created(product1.getId()));
     }
 
     @Test
@@ -149,7 +339,7 @@ public class ProductServiceTest {
         // Act
 
 
-        when(categoryRepository.findByName("Categoria Inexistente")).thenReturn(Optional.empty());
+        when(categoryNameResolver.resolve("Categoria Inexistente")).thenReturn(Optional.empty());
 
 
         // Assert
@@ -159,7 +349,7 @@ public class ProductServiceTest {
                 .isInstanceOf(ResponseStatusException.class)
                 .hasFieldOrPropertyWithValue("status", HttpStatus.NOT_FOUND);
 
-        verify(categoryRepository, times(1)).findByName("Categoria Inexistente");
+        verify(categoryNameResolver, times(1)).resolve("Categoria Inexistente");
         verify(productRepository, never()).save(any(Product.class));
     }
 
@@ -172,7 +362,7 @@ public class ProductServiceTest {
 
         //Act
 
-        when(productRepository.findAll()).thenReturn(List.of(product1, product2));
+        when(productRepository.findAllResponses()).thenReturn(List.of(productResponseDT1, productResponseDT2));
 
         List<ProductResponseDTO> result = productService.findAllProducts();
 
@@ -185,7 +375,8 @@ public class ProductServiceTest {
         assertEquals("Produto 2", result.get(1).name());
 
 
-        verify(productRepository, times(1)).findAll();
+        verify(productRepository, times(1)).findAllResponses();
+        verify(productRepository, never()).findAll();
 
     }
 
@@ -221,7 +412,7 @@ public class ProductServiceTest {
     @DisplayName("Deve lançar ResponseStatusException (404) quando nenhum produto é encontrado")
     void deveLancarResponseStatusExceptionQuandoNenhumProdutoEncontrado() {
 
-        when(productRepository.findAll()).thenReturn(List.of());
+        when(productRepository.findAllResponses()).thenReturn(List.of());
 
         assertThatThrownBy(() -> productService.findAllProducts())
                 .isInstanceOf(ResponseStatusException.class)
@@ -233,12 +424,9 @@ public class ProductServiceTest {
     @DisplayName("Deve retornar produtos filtrando pela categoria caso for encontrado")
     void deveRetonarProdutosFiltrandoPelaCategoria() {
 
-        Category category2 = criarCategoria(2L, "Livros");
-        Product product3 = criarProduto(1L, "Livro de Teste", new BigDecimal("100.00"), category2);
-
-        List<Product> products = List.of(product1, product2, product3);
+        List<ProductResponseDTO> products = List.of(productResponseDT1, productResponseDT2);
 
-        when(productRepository.findAll()).thenReturn(products);
+        when(productRepository.findAllResponsesByCategoryName(product1.getCategory().getName())).thenReturn(products);
 
         List<ProductResponseDTO> produtosFiltrados = productService.findAllProductsByCategory(product1.getCategory().getName());
 
@@ -248,7 +436,8 @@ public class ProductServiceTest {
         assertThat(produtosFiltrados.get(0).name()).isEqualTo(product1.getName());
         assertThat(produtosFiltrados.get(1).name()).isEqualTo(product2.getName());
 
-        verify(productRepository, times(1)).findAll();
+        verify(productRepository, times(1)).findAllResponsesByCategoryName(product1.getCategory().getName());
+        verify(productRepository, never()).findAll();
 
 
 
@@ -259,7 +448,7 @@ public class ProductServiceTest {
     @Test
     @DisplayName("Deve lançar ResponseStatusException (404) quando nenhum produto é encontrado quando filtrado pela categoria")
     void deveLancarResponseStatusExceptionQuandoProdutoNaoForEncontradoFiltradoPeloCategoria() {
-        when(productRepository.findAll()).thenReturn(List.of());
+        when(productRepository.findAllResponsesByCategoryName(product1.getCategory().getName())).thenReturn(List.of());
 
         assertThatThrownBy(() -> productService.findAllProductsByCategory(product1.getCategory().getName()))
                 .isInstanceOf(ResponseStatusException.class)
@@ -267,6 +456,95 @@ public class ProductServiceTest {
                 .hasMessageContaining("Nenhum produto encontrado.");
     }
 
+    @Test
+    @DisplayName("Deve retornar produtos paginados filtrando pela categoria no banco")
+    void deveRetornarProdutosPaginadosFiltrandoPelaCategoria() {
+
+        PageRequest pageRequest = PageRequest.of(0, 2, Sort.by("name").descending());
+
+        when(productRepository.findAllResponsesByCategoryName("Categoria 1", pageRequest))
+                .thenReturn(new PageImpl<>(List.of(productResponseDT2, productResponseDT1), pageRequest, 5));
+
+        PaginatedResponse<ProductResponseDTO> result = productService.getPaginationProductsByCategory("Categoria 1", 0, 2);
+
+        assertThat(result.getContent().size()).isEqualTo(2);
+        assertThat(result.getContent().get(0).name()).isEqualTo(product2.getName());
+        assertThat(result.getTotalElements()).isEqualTo(5L);
+        assertThat(result.getTotalPages()).isEqualTo(3);
+
+        verify(productRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Deve retornar a primeira página por cursor com o token da próxima página")
+    void deveRetornarPrimeiraPaginaPorCursor() {
+
+        when(productRepository.findFirstResponses(Limit.of(2)))
+                .thenReturn(List.of(productResponseDT2, productResponseDT1));
+
+        PaginatedResponse<ProductResponseDTO> result = productService.getProductsAfterCursor(null, 1);
+
+        assertThat(result.getContent().size()).isEqualTo(1);
+        assertThat(result.getContent().get(0).name()).isEqualTo(product2.getName());
+        assertThat(result.getNextCursor()).isEqualTo(ProductCursor.of(productResponseDT2).encode());
+        assertThat(result.getTotalElements()).isNull();
+
+        verify(productRepository, never()).count();
+    }
+
+    @Test
+    @DisplayName("Deve buscar a página seguinte a partir do cursor e encerrar sem próximo cursor")
+    void deveBuscarPaginaSeguintePorCursor() {
+
+        String cursor = ProductCursor.of(productResponseDT2).encode();
+
+        when(productRepository.findResponsesAfter(product2.getName(), product2.getId(), Limit.of(3)))
+                .thenReturn(List.of(productResponseDT1));
+
+        PaginatedResponse<ProductResponseDTO> result = productService.getProductsAfterCursor(cursor, 2);
+
+        assertThat(result.getContent().size()).isEqualTo(1);
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve lançar ResponseStatusException (400) para página por cursor acima do limite")
+    void deveLancarResponseStatusExceptionParaPaginaPorCursorAcimaDoLimite() {
+
+        assertThatThrownBy(() -> productService.getProductsAfterCursor(null, Integer.MAX_VALUE))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasFieldOrPropertyWithValue("status", HttpStatus.BAD_REQUEST);
+
+        verify(productRepository, never()).findFirstResponses(any(Limit.class));
+    }
+
+    @Test
+    @DisplayName("Deve lançar ResponseStatusException (400) para cursor inválido")
+    void deveLancarResponseStatusExceptionParaCursorInvalido() {
+
+        assertThatThrownBy(() -> productService.getProductsAfterCursor("###", 10))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasFieldOrPropertyWithValue("status", HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    @DisplayName("Deve exportar o catálogo como NDJSON, um produto por linha")
+    void deveExportarCatalogoComoNdjson() throws Exception {
+
+        when(productRepository.streamAllResponses()).thenReturn(Stream.of(productResponseDT1, productResponseDT2));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        productService.exportProducts(output);
+
+        String[] linhas = output.toString(StandardCharsets.UTF_8).split("\n");
+
+        assertThat(linhas.length).isEqualTo(2);
+        assertThat(objectMapper.readValue(linhas[0], ProductResponseDTO.class)).isEqualTo(productResponseDT1);
+        assertThat(objectMapper.readValue(linhas[1], ProductResponseDTO.class)).isEqualTo(productResponseDT2);
+
+        verify(productRepository, never()).findAll();
+    }
+
     @Test
     @DisplayName("Deve deletar um produto com sucesso e retornar 204 NO_CONTENT")
     void deveDeletarUmProdutoComSucesso() {
@@ -280,6 +558,7 @@ public class ProductServiceTest {
 
         verify(productRepository, times(1)).findById(1L);
         verify(productRepository, times(1)).deleteById(1L);
+        verify(eventPublisher, times(1)).publishEvent(ProductsChangedEvent.deleted(1L));
     }
 
     @Test